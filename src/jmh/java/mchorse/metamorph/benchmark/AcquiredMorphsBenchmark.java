@@ -0,0 +1,90 @@
+package mchorse.metamorph.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.network.common.survival.PacketAcquiredMorphs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acquired morphs benchmark
+ *
+ * Measures acquired morph lookup in a morphing capability with a lot of
+ * acquired morphs (it's done every time a player kills an entity), and
+ * acquired morphs packet round trip (sent on every login and respawn).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AcquiredMorphsBenchmark
+{
+    @Param({"100", "1000", "5000"})
+    public int size;
+
+    private Morphing morphing;
+    private AbstractMorph acquired;
+    private AbstractMorph missing;
+    private ByteBuf buffer;
+
+    @Setup
+    public void setup()
+    {
+        MorphCorpus.register();
+
+        List<AbstractMorph> morphs = MorphCorpus.createMorphs(this.size + 1);
+
+        this.morphing = new Morphing();
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.morphing.acquireMorph(morphs.get(i));
+        }
+
+        /* Worst cases: equal morph is at the end of the list, or there's
+         * no equal morph at all */
+        this.acquired = morphs.get(this.size - 1).copy();
+        this.missing = morphs.get(this.size);
+        this.buffer = Unpooled.buffer();
+    }
+
+    @Benchmark
+    public boolean acquiredMorph()
+    {
+        return this.morphing.acquiredMorph(this.acquired);
+    }
+
+    @Benchmark
+    public boolean acquiredMorphMissing()
+    {
+        return this.morphing.acquiredMorph(this.missing);
+    }
+
+    @Benchmark
+    public PacketAcquiredMorphs packetRoundTrip()
+    {
+        PacketAcquiredMorphs packet = new PacketAcquiredMorphs();
+
+        this.buffer.clear();
+        new PacketAcquiredMorphs(this.morphing).toBytes(this.buffer);
+        packet.fromBytes(this.buffer);
+
+        return packet;
+    }
+}
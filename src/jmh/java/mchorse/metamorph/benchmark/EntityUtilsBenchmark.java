@@ -0,0 +1,99 @@
+package mchorse.metamorph.benchmark;
+
+import mchorse.metamorph.api.EntityUtils;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity utils benchmark
+ *
+ * Measures entity data comparison (every acquired morph lookup compares
+ * entity data) and stripping (done on every killed entity). Stripping
+ * modifies given tag, so it's done on copies, {@link #copy(Blackhole)}
+ * measures the copying alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EntityUtilsBenchmark
+{
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<NBTTagCompound> data;
+    private List<NBTTagCompound> stripped;
+    private List<NBTTagCompound> copies;
+
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(this.size);
+
+        this.data = new ArrayList<NBTTagCompound>(this.size);
+        this.stripped = new ArrayList<NBTTagCompound>(this.size);
+        this.copies = new ArrayList<NBTTagCompound>(this.size);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            NBTTagCompound tag = MorphCorpus.createEntityData(random, i);
+            NBTTagCompound stripped = EntityUtils.stripEntityNBT(tag.copy());
+
+            this.data.add(tag);
+            this.stripped.add(stripped);
+            this.copies.add(stripped.copy());
+        }
+    }
+
+    /**
+     * Compare every entity data with its equal copy and with the next
+     * (different) entity data
+     */
+    @Benchmark
+    public void compareData(Blackhole blackhole)
+    {
+        for (int i = 0; i < this.size; i++)
+        {
+            NBTTagCompound tag = this.stripped.get(i);
+
+            blackhole.consume(EntityUtils.compareData(tag, this.copies.get(i)));
+            blackhole.consume(EntityUtils.compareData(tag, this.stripped.get((i + 1) % this.size)));
+        }
+    }
+
+    @Benchmark
+    public void stripEntityNBT(Blackhole blackhole)
+    {
+        for (NBTTagCompound tag : this.data)
+        {
+            blackhole.consume(EntityUtils.stripEntityNBT(tag.copy()));
+        }
+    }
+
+    @Benchmark
+    public void copy(Blackhole blackhole)
+    {
+        for (NBTTagCompound tag : this.data)
+        {
+            blackhole.consume(tag.copy());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package mchorse.metamorph.benchmark;
+
+import mchorse.metamorph.api.EntityUtils;
+import mchorse.metamorph.api.IMorphFactory;
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.MorphSettings;
+import mchorse.metamorph.api.abilities.Ability;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.api.morphs.EntityMorph;
+import mchorse.metamorph.client.gui.editor.GuiAbstractMorph;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagFloat;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic morph corpus
+ *
+ * Benchmarks run without Minecraft, so there are no entity registries to
+ * look up morphs in. This class registers a benchmark morph factory (which
+ * creates {@link EntityMorph}s for any name starting with
+ * {@link #PREFIX}) and a few abilities, and generates entity morphs with
+ * vanilla looking entity data. Generated corpora are deterministic, so
+ * results of different builds are comparable.
+ */
+public class MorphCorpus
+{
+    public static final String PREFIX = "benchmark:";
+
+    /**
+     * Amount of different morph names in a corpus
+     */
+    public static final int NAMES = 50;
+
+    private static boolean registered;
+
+    /**
+     * Register benchmark morph factory, abilities and morph settings
+     */
+    public static synchronized void register()
+    {
+        if (registered)
+        {
+            return;
+        }
+
+        MorphManager manager = MorphManager.INSTANCE;
+
+        manager.factories.add(new BenchmarkFactory());
+
+        for (int i = 0; i < 8; i++)
+        {
+            manager.abilities.put("ability_" + i, new BenchmarkAbility());
+        }
+
+        Map<String, MorphSettings> settings = new HashMap<String, MorphSettings>();
+
+        for (int i = 0; i < NAMES; i++)
+        {
+            settings.put(PREFIX + "mob_" + i, createSettings(i));
+        }
+
+        manager.setActiveSettings(settings);
+
+        registered = true;
+    }
+
+    /**
+     * Create morph settings with a few abilities
+     */
+    public static MorphSettings createSettings(int seed)
+    {
+        MorphSettings settings = new MorphSettings();
+
+        for (int i = 0; i < 1 + seed % 4; i++)
+        {
+            settings.abilities.add(MorphManager.INSTANCE.abilities.get("ability_" + ((seed + i) % 8)));
+        }
+
+        settings.health = 10 + seed % 30;
+        settings.speed = 0.1F + (seed % 5) * 0.05F;
+        settings.hostile = seed % 2 == 0;
+
+        return settings;
+    }
+
+    /**
+     * Generate given amount of distinct entity morphs
+     */
+    public static List<AbstractMorph> createMorphs(int size)
+    {
+        List<AbstractMorph> morphs = new ArrayList<AbstractMorph>(size);
+
+        for (NBTTagCompound tag : createTags(size))
+        {
+            morphs.add(MorphManager.INSTANCE.morphFromNBT(tag));
+        }
+
+        return morphs;
+    }
+
+    /**
+     * Generate given amount of distinct entity morph NBT tags
+     */
+    public static List<NBTTagCompound> createTags(int size)
+    {
+        List<NBTTagCompound> tags = new ArrayList<NBTTagCompound>(size);
+        Random random = new Random(size);
+
+        for (int i = 0; i < size; i++)
+        {
+            NBTTagCompound tag = new NBTTagCompound();
+            NBTTagCompound data = EntityUtils.stripEntityNBT(createEntityData(random, i));
+
+            tag.setString("Name", PREFIX + "mob_" + (i % NAMES));
+            tag.setTag("EntityData", data);
+
+            if (i % 10 == 0)
+            {
+                tag.setString("DisplayName", "Morph #" + i);
+            }
+
+            tags.add(tag);
+        }
+
+        return tags;
+    }
+
+    /**
+     * Generate entity data similar to what vanilla mobs write (including
+     * tags that {@link EntityUtils#stripEntityNBT(NBTTagCompound)}
+     * removes). Given index makes sure that generated data is unique.
+     */
+    public static NBTTagCompound createEntityData(Random random, int index)
+    {
+        NBTTagCompound tag = new NBTTagCompound();
+
+        tag.setInteger("Dimension", 0);
+        tag.setShort("HurtTime", (short) 0);
+        tag.setShort("DeathTime", (short) 0);
+        tag.setInteger("HurtByTimestamp", 0);
+        tag.setFloat("Health", 20);
+        tag.setInteger("PortalCooldown", 0);
+        tag.setBoolean("Leashed", false);
+        tag.setShort("Air", (short) 300);
+        tag.setString("id", "minecraft:zombie");
+        tag.setBoolean("Invulnerable", false);
+        tag.setBoolean("LeftHanded", random.nextBoolean());
+        tag.setBoolean("CanPickUpLoot", false);
+        tag.setTag("Pos", doubles(random.nextDouble() * 1000, 64, random.nextDouble() * 1000));
+        tag.setTag("Motion", doubles(0, -0.08, 0));
+        tag.setTag("Rotation", floats(random.nextFloat() * 360, 0));
+        tag.setFloat("FallDistance", 0);
+        tag.setBoolean("FallFlying", false);
+        tag.setBoolean("OnGround", true);
+        tag.setShort("Fire", (short) -1);
+        tag.setLong("UUIDLeast", random.nextLong());
+        tag.setLong("UUIDMost", random.nextLong());
+        tag.setTag("Attributes", new NBTTagList());
+        tag.setTag("ArmorItems", new NBTTagList());
+        tag.setTag("HandItems", new NBTTagList());
+
+        /* Data that is left after stripping */
+        tag.setInteger("Variant", index);
+        tag.setBoolean("IsBaby", random.nextBoolean());
+        tag.setByte("Color", (byte) random.nextInt(16));
+        tag.setString("Profession", "profession_" + random.nextInt(6));
+
+        return tag;
+    }
+
+    private static NBTTagList doubles(double... values)
+    {
+        NBTTagList list = new NBTTagList();
+
+        for (double value : values)
+        {
+            list.appendTag(new NBTTagDouble(value));
+        }
+
+        return list;
+    }
+
+    private static NBTTagList floats(float... values)
+    {
+        NBTTagList list = new NBTTagList();
+
+        for (float value : values)
+        {
+            list.appendTag(new NBTTagFloat(value));
+        }
+
+        return list;
+    }
+
+    /**
+     * Benchmark morph factory
+     */
+    public static class BenchmarkFactory implements IMorphFactory
+    {
+        @Override
+        public void register(MorphManager manager)
+        {}
+
+        @Override
+        @SideOnly(Side.CLIENT)
+        public void registerMorphEditors(Minecraft mc, List<GuiAbstractMorph> editors)
+        {}
+
+        @Override
+        public boolean hasMorph(String name)
+        {
+            return name.startsWith(PREFIX);
+        }
+
+        @Override
+        public AbstractMorph getMorphFromNBT(NBTTagCompound tag)
+        {
+            EntityMorph morph = new EntityMorph();
+
+            morph.fromNBT(tag);
+
+            return morph;
+        }
+    }
+
+    /**
+     * Ability which doesn't do anything
+     */
+    public static class BenchmarkAbility extends Ability
+    {
+        @Override
+        public void update(EntityLivingBase target)
+        {}
+    }
+}
@@ -0,0 +1,71 @@
+package mchorse.metamorph.benchmark;
+
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Morph NBT benchmark
+ *
+ * Measures reading (through {@link MorphManager#morphFromNBT(NBTTagCompound)},
+ * i.e. remapping, blacklist check, factory lookup and settings) and
+ * writing of a whole corpus of morphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MorphNBTBenchmark
+{
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<NBTTagCompound> tags;
+    private List<AbstractMorph> morphs;
+
+    @Setup
+    public void setup()
+    {
+        MorphCorpus.register();
+
+        this.tags = MorphCorpus.createTags(this.size);
+        this.morphs = MorphCorpus.createMorphs(this.size);
+    }
+
+    @Benchmark
+    public void morphFromNBT(Blackhole blackhole)
+    {
+        MorphManager manager = MorphManager.INSTANCE;
+
+        for (NBTTagCompound tag : this.tags)
+        {
+            blackhole.consume(manager.morphFromNBT(tag));
+        }
+    }
+
+    @Benchmark
+    public void toNBT(Blackhole blackhole)
+    {
+        for (AbstractMorph morph : this.morphs)
+        {
+            blackhole.consume(morph.toNBT());
+        }
+    }
+}
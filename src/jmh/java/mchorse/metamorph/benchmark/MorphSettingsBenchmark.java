@@ -0,0 +1,91 @@
+package mchorse.metamorph.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mchorse.metamorph.api.MorphSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Morph settings benchmark
+ *
+ * Measures network (de)serialization of given amount of morph settings,
+ * which are sent to every player on login (unless cached) and on reload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MorphSettingsBenchmark
+{
+    @Param({"100", "1000"})
+    public int size;
+
+    private List<MorphSettings> settings;
+    private MorphSettings target;
+    private ByteBuf output;
+    private ByteBuf input;
+
+    @Setup
+    public void setup()
+    {
+        MorphCorpus.register();
+
+        this.settings = new ArrayList<MorphSettings>(this.size);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.settings.add(MorphCorpus.createSettings(i));
+        }
+
+        this.target = new MorphSettings();
+        this.output = Unpooled.buffer();
+        this.input = Unpooled.buffer();
+
+        for (MorphSettings settings : this.settings)
+        {
+            settings.toBytes(this.input);
+        }
+    }
+
+    @Benchmark
+    public ByteBuf toBytes()
+    {
+        this.output.clear();
+
+        for (MorphSettings settings : this.settings)
+        {
+            settings.toBytes(this.output);
+        }
+
+        return this.output;
+    }
+
+    @Benchmark
+    public MorphSettings fromBytes()
+    {
+        this.input.readerIndex(0);
+
+        for (int i = 0; i < this.size; i++)
+        {
+            this.target.fromBytes(this.input);
+        }
+
+        return this.target;
+    }
+}
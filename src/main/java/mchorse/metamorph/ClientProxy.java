@@ -3,6 +3,8 @@ package mchorse.metamorph;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.client.EntityModelHandler;
 import mchorse.metamorph.client.KeyboardHandler;
+import mchorse.metamorph.client.MorphPrediction;
+import mchorse.metamorph.client.MorphPreloader;
 import mchorse.metamorph.client.NetworkHandler;
 import mchorse.metamorph.client.RenderingHandler;
 import mchorse.metamorph.client.gui.overlays.GuiHud;
@@ -25,6 +27,7 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.lang.reflect.Field;
+import java.net.Proxy;
 import java.util.Map;
 
 /**
@@ -91,6 +94,8 @@ public class ClientProxy extends CommonProxy
         MinecraftForge.EVENT_BUS.register(new RenderingHandler(morphOverlay, hud));
         MinecraftForge.EVENT_BUS.register(keys = new KeyboardHandler());
         MinecraftForge.EVENT_BUS.register(models = new EntityModelHandler());
+        MinecraftForge.EVENT_BUS.register(MorphPrediction.INSTANCE);
+        MinecraftForge.EVENT_BUS.register(MorphPreloader.INSTANCE);
 
         models.loadSelectors();
 
@@ -171,6 +176,15 @@ public class ClientProxy extends CommonProxy
         }
     }
 
+    /**
+     * Use the proxy which the game was launched with
+     */
+    @Override
+    public Proxy getNetworkProxy()
+    {
+        return Minecraft.getMinecraft().getProxy();
+    }
+
     /**
      * Get game mode of a player 
      */
@@ -1,5 +1,6 @@
 package mchorse.metamorph;
 
+import mchorse.metamorph.api.ConfigWatcher;
 import mchorse.metamorph.api.MorphHandler;
 import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.MorphUtils;
@@ -14,16 +15,23 @@ import mchorse.metamorph.capabilities.render.ModelRendererStorage;
 import mchorse.metamorph.entity.EntityMorph;
 import mchorse.metamorph.entity.SoundHandler;
 import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.NetworkStats;
+import mchorse.metamorph.util.LoadTest;
+import mchorse.metamorph.util.MetamorphProfiler;
 import mchorse.vanilla_pack.MetamorphFactory;
+import mchorse.vanilla_pack.profiles.ProfileCache;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.capabilities.CapabilityManager;
+import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.registry.EntityRegistry;
 
 import java.io.File;
+import java.net.Proxy;
 
 /**
  * Common proxy
@@ -55,10 +63,37 @@ public class CommonProxy
     public File selectors;
 
     /**
-     * Location of a user's custom global morph list (client side)
+     * Location of a user's custom global morph list in JSON (client side),
+     * it's only used for migration and export
      */
     public File list;
 
+    /**
+     * Location of a user's custom global morph list (client side)
+     */
+    public File listData;
+
+    /**
+     * Location of cached player profiles for player morphs
+     */
+    public File profiles;
+
+    /**
+     * Location of cached default entity morph data (client side)
+     */
+    public File entities;
+
+    /**
+     * Location of cached morph blacklist and settings of servers (client 
+     * side)
+     */
+    public File servers;
+
+    /**
+     * Location of periodic network stats dumps (server side)
+     */
+    public File netstats;
+
     public void preLoad(FMLPreInitializationEvent event)
     {
         /* Network messages */
@@ -73,6 +108,13 @@ public class CommonProxy
         this.remap = new File(event.getModConfigurationDirectory(), "metamorph/remap.json");
         this.selectors = new File(event.getModConfigurationDirectory(), "metamorph/selectors.json");
         this.list = new File(event.getModConfigurationDirectory(), "metamorph/list.json");
+        this.listData = new File(event.getModConfigurationDirectory(), "metamorph/list.dat");
+        this.profiles = new File(event.getModConfigurationDirectory(), "metamorph/profiles.json");
+        this.entities = new File(event.getModConfigurationDirectory(), "metamorph/entities.dat");
+        this.servers = new File(event.getModConfigurationDirectory(), "metamorph/servers");
+        this.netstats = new File(event.getModConfigurationDirectory(), "metamorph/netstats.csv");
+
+        ProfileCache.INSTANCE.setFile(this.profiles);
 
         /* Entities */
         EntityRegistry.registerModEntity(new ResourceLocation("metamorph:morph"), EntityMorph.class, "Morph", 0, Metamorph.instance, 64, 3, false);
@@ -92,6 +134,10 @@ public class CommonProxy
         MinecraftForge.EVENT_BUS.register(new SoundHandler());
         MinecraftForge.EVENT_BUS.register(new CapabilityHandler());
         MinecraftForge.EVENT_BUS.register(new RegisterHandler());
+        MinecraftForge.EVENT_BUS.register(ConfigWatcher.INSTANCE);
+        MinecraftForge.EVENT_BUS.register(MetamorphProfiler.class);
+        MinecraftForge.EVENT_BUS.register(NetworkStats.class);
+        MinecraftForge.EVENT_BUS.register(LoadTest.INSTANCE);
 
         /* Morphing manager and capabilities */
         CapabilityManager.INSTANCE.register(IMorphing.class, new MorphingStorage(), Morphing::new);
@@ -127,4 +173,15 @@ public class CommonProxy
     {
         return player.isCreative() || Metamorph.allowMorphingIntoCategoryMorphs.get();
     }
+
+    /**
+     * Get the proxy which is used to connect to Mojang's services (the one 
+     * that the dedicated server was configured with)
+     */
+    public Proxy getNetworkProxy()
+    {
+        MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+
+        return server == null ? Proxy.NO_PROXY : server.getServerProxy();
+    }
 }
\ No newline at end of file
@@ -9,11 +9,15 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 
+import mchorse.metamorph.api.ConfigWatcher;
 import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.commands.CommandAcquireMorph;
 import mchorse.metamorph.commands.CommandMetamorph;
 import mchorse.metamorph.commands.CommandMorph;
+import mchorse.metamorph.entity.GhostTracker;
+import mchorse.metamorph.network.NetworkStats;
+import mchorse.metamorph.util.LoadTest;
 import net.minecraftforge.fml.common.Mod;
 import net.minecraftforge.fml.common.Mod.EventHandler;
 import net.minecraftforge.fml.common.SidedProxy;
@@ -21,6 +25,7 @@ import net.minecraftforge.fml.common.event.FMLInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPostInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLPreInitializationEvent;
 import net.minecraftforge.fml.common.event.FMLServerStartingEvent;
+import net.minecraftforge.fml.common.event.FMLServerStoppedEvent;
 import net.minecraftforge.fml.common.network.FMLEventChannel;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 
@@ -66,6 +71,9 @@ public class Metamorph
     public static ValueBoolean preventGhosts;
     public static ValueBoolean preventKillAcquire;
     public static ValueBoolean acquireImmediately;
+    public static ValueBoolean mergeGhosts;
+    public static ValueInt maxGhostsPerOwner;
+    public static ValueInt maxGhostsPerChunk;
 
     public static ValueBoolean keepMorphs;
     public static ValueBoolean disablePov;
@@ -79,6 +87,11 @@ public class Metamorph
     public static ValueInt maxRecentMorphs;
     public static ValueBoolean allowMorphingIntoCategoryMorphs;
     public static ValueBoolean loadEntityMorphs;
+    public static ValueBoolean resolvePlayerProfiles;
+    public static ValueBoolean morphThumbnails;
+
+    public static ValueInt netstatsDumpInterval;
+    public static ValueBoolean loadTest;
 
     /* Events */
 
@@ -90,6 +103,9 @@ public class Metamorph
         preventGhosts = builder.category("acquiring").getBoolean("prevent_ghosts", true);
         preventKillAcquire = builder.getBoolean("prevent_kill_acquire", false);
         acquireImmediately = builder.getBoolean("acquire_immediately", false);
+        mergeGhosts = builder.getBoolean("merge_ghosts", true);
+        maxGhostsPerOwner = builder.getInt("max_ghosts_per_owner", 32, 0, 1000);
+        maxGhostsPerChunk = builder.getInt("max_ghosts_per_chunk", 16, 0, 1000);
 
         keepMorphs = builder.category("morphs").getBoolean("keep_morphs", true);
         disablePov = builder.getBoolean("disable_pov", false);
@@ -103,6 +119,11 @@ public class Metamorph
         maxRecentMorphs = builder.getInt("max_recent_morphs", 20, 1, 200);
         allowMorphingIntoCategoryMorphs = builder.getBoolean("allow_morphing_into_category_morphs", false);
         loadEntityMorphs = builder.getBoolean("load_entity_morphs", true);
+        resolvePlayerProfiles = builder.getBoolean("resolve_player_profiles", true);
+        morphThumbnails = builder.getBoolean("morph_thumbnails", true);
+
+        netstatsDumpInterval = builder.category("debug").getInt("netstats_dump_interval", 0, 0, 86400);
+        loadTest = builder.getBoolean("load_test", false);
 
         event.modules.add(builder.build());
     }
@@ -136,6 +157,7 @@ public class Metamorph
         MorphManager.INSTANCE.setActiveBlacklist(MorphUtils.reloadBlacklist());
         MorphManager.INSTANCE.setActiveSettings(MorphUtils.reloadMorphSettings());
         MorphManager.INSTANCE.setActiveMap(MorphUtils.reloadRemapper());
+        ConfigWatcher.INSTANCE.start(proxy.morphs.getParentFile());
 
         /* Register commands */
         event.registerServerCommand(new CommandMorph());
@@ -143,6 +165,15 @@ public class Metamorph
         event.registerServerCommand(new CommandMetamorph());
     }
 
+    @EventHandler
+    public void serverStopped(FMLServerStoppedEvent event)
+    {
+        GhostTracker.INSTANCE.clear();
+        NetworkStats.SERVER.reset();
+        ConfigWatcher.INSTANCE.stop();
+        LoadTest.INSTANCE.stop();
+    }
+
     /* Logging */
 
     /* TODO: Set to false when publishing and remove all unnecessary printlns */
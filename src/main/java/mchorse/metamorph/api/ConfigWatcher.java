@@ -0,0 +1,252 @@
+package mchorse.metamorph.api;
+
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.PacketConfigDiff;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ServerTickEvent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Config watcher
+ *
+ * Watches Metamorph's config folder on the server, and reloads morph
+ * settings, blacklist or remapper when their files change. Changes are
+ * debounced (editors tend to write files several times), and only the
+ * entries which were changed get sent to players.
+ */
+public class ConfigWatcher
+{
+    public static final ConfigWatcher INSTANCE = new ConfigWatcher();
+
+    public static final int BLACKLIST = 1;
+    public static final int SETTINGS = 2;
+    public static final int REMAP = 4;
+    public static final int ALL = BLACKLIST | SETTINGS | REMAP;
+
+    /**
+     * How long (in ms) files should stay unchanged before they're reloaded
+     */
+    public static final long DEBOUNCE = 500;
+
+    private WatchService service;
+
+    /**
+     * Flags of configs which were changed, but not reloaded yet
+     */
+    private AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * When a config file was changed the last time
+     */
+    private volatile long changed;
+
+    /**
+     * Start watching given config folder
+     */
+    public void start(File folder)
+    {
+        this.stop();
+
+        try
+        {
+            WatchService service = FileSystems.getDefault().newWatchService();
+
+            folder.mkdirs();
+            folder.toPath().register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+            Thread thread = new Thread(() -> this.watch(service), "Metamorph config watcher");
+
+            thread.setDaemon(true);
+            thread.start();
+
+            this.service = service;
+        }
+        catch (IOException e)
+        {
+            Metamorph.log("Failed to watch Metamorph's config folder!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Stop watching config folder
+     */
+    public void stop()
+    {
+        if (this.service != null)
+        {
+            try
+            {
+                this.service.close();
+            }
+            catch (IOException e)
+            {}
+
+            this.service = null;
+        }
+
+        this.pending.set(0);
+    }
+
+    private void watch(WatchService service)
+    {
+        try
+        {
+            while (true)
+            {
+                WatchKey key = service.take();
+
+                for (WatchEvent<?> event : key.pollEvents())
+                {
+                    int flag = event.kind() == StandardWatchEventKinds.OVERFLOW ? ALL : getFlag(event.context().toString());
+
+                    if (flag != 0)
+                    {
+                        this.changed = System.currentTimeMillis();
+                        this.pending.getAndUpdate((pending) -> pending | flag);
+                    }
+                }
+
+                if (!key.reset())
+                {
+                    break;
+                }
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException e)
+        {}
+    }
+
+    private static int getFlag(String file)
+    {
+        if (file.equals("blacklist.json"))
+        {
+            return BLACKLIST;
+        }
+        else if (file.equals("morphs.json"))
+        {
+            return SETTINGS;
+        }
+        else if (file.equals("remap.json"))
+        {
+            return REMAP;
+        }
+
+        return 0;
+    }
+
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent event)
+    {
+        if (event.phase != Phase.END || this.pending.get() == 0 || System.currentTimeMillis() - this.changed < DEBOUNCE)
+        {
+            return;
+        }
+
+        this.reload(this.pending.getAndSet(0));
+    }
+
+    /**
+     * Reload given configs (combination of {@link #BLACKLIST},
+     * {@link #SETTINGS} and {@link #REMAP} flags), and send what was
+     * changed to all players
+     */
+    public PacketConfigDiff reload(int flags)
+    {
+        MorphManager manager = MorphManager.INSTANCE;
+        PacketConfigDiff diff = new PacketConfigDiff();
+
+        if ((flags & BLACKLIST) != 0)
+        {
+            Set<String> previous = manager.activeBlacklist;
+            Set<String> blacklist = MorphUtils.reloadBlacklist();
+
+            for (String name : blacklist)
+            {
+                if (!previous.contains(name))
+                {
+                    diff.blacklisted.add(name);
+                }
+            }
+
+            for (String name : previous)
+            {
+                if (!blacklist.contains(name))
+                {
+                    diff.unblacklisted.add(name);
+                }
+            }
+
+            manager.setActiveBlacklist(blacklist);
+        }
+
+        if ((flags & SETTINGS) != 0)
+        {
+            Map<String, MorphSettings> previous = manager.activeSettings;
+            Map<String, MorphSettings> settings = MorphUtils.reloadMorphSettings();
+
+            for (Map.Entry<String, MorphSettings> entry : settings.entrySet())
+            {
+                if (!entry.getValue().equals(previous.get(entry.getKey())))
+                {
+                    diff.settings.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            for (String key : previous.keySet())
+            {
+                if (!settings.containsKey(key))
+                {
+                    diff.removedSettings.add(key);
+                }
+            }
+
+            manager.setActiveSettings(settings);
+        }
+
+        if ((flags & REMAP) != 0)
+        {
+            Map<String, String> previous = manager.activeMap;
+            Map<String, String> map = MorphUtils.reloadRemapper();
+
+            for (Map.Entry<String, String> entry : map.entrySet())
+            {
+                if (!Objects.equals(entry.getValue(), previous.get(entry.getKey())))
+                {
+                    diff.remap.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            for (String key : previous.keySet())
+            {
+                if (!map.containsKey(key))
+                {
+                    diff.removedRemap.add(key);
+                }
+            }
+
+            manager.setActiveMap(map);
+        }
+
+        if (!diff.isEmpty())
+        {
+            Dispatcher.sendToAll(diff);
+        }
+
+        return diff;
+    }
+}
@@ -113,9 +113,13 @@ public class MorphAPI
 
         boolean acquired = Morphing.get(player).acquireMorph(event.morph);
 
-        if (notify && !player.world.isRemote && acquired)
+        /* Client needs to know the ID of acquired morph, even if the player
+         * shouldn't be notified about it */
+        if (!player.world.isRemote && acquired)
         {
-            Dispatcher.sendTo(new PacketAcquireMorph(event.morph), (EntityPlayerMP) player);
+            IMorphing morphing = Morphing.get(player);
+
+            Dispatcher.sendTo(new PacketAcquireMorph(event.morph, notify, morphing.getAcquiredId(event.morph)), (EntityPlayerMP) player);
         }
 
         if (acquired)
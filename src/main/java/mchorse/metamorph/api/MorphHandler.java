@@ -7,6 +7,8 @@ import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
 import mchorse.metamorph.entity.EntityMorph;
+import mchorse.metamorph.entity.GhostTracker;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLiving;
 import net.minecraft.entity.EntityLivingBase;
@@ -17,9 +19,12 @@ import net.minecraft.util.EntityDamageSourceIndirect;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import net.minecraftforge.event.entity.living.LivingAttackEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.living.LivingSetAttackTargetEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerChangedDimensionEvent;
 import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
@@ -60,6 +65,7 @@ public class MorphHandler
             return;
         }
 
+        long start = System.nanoTime();
         EntityPlayer player = event.player;
         IMorphing capability = Morphing.get(player);
 
@@ -124,6 +130,8 @@ public class MorphHandler
                 MorphAPI.demorph(player);
             }
         }
+
+        MetamorphProfiler.get(player.world.isRemote).end(MetamorphProfiler.PLAYER_TICK, start);
     }
 
     /**
@@ -149,7 +157,20 @@ public class MorphHandler
             return;
         }
 
-        EntityPlayer player = (EntityPlayer) source;
+        long start = System.nanoTime();
+
+        try
+        {
+            this.acquireFromKill((EntityPlayer) source, target);
+        }
+        finally
+        {
+            MetamorphProfiler.SERVER.end(MetamorphProfiler.KILL_ENTITY, start);
+        }
+    }
+
+    private void acquireFromKill(EntityPlayer player, Entity target)
+    {
         IMorphing capability = Morphing.get(player);
 
         if (capability == null)
@@ -191,6 +212,22 @@ public class MorphHandler
             }
             morph = spawnGhostEvent.morph;
 
+            /* Merge into already existing ghost, instead of piling up 
+             * identical ghosts */
+            if (Metamorph.mergeGhosts.get())
+            {
+                EntityMorph ghost = GhostTracker.INSTANCE.find(player.world, player.getUniqueID(), morph, target.posX, target.posZ);
+
+                if (ghost != null)
+                {
+                    ghost.merge();
+
+                    return;
+                }
+            }
+
+            GhostTracker.INSTANCE.makeRoom(player.world, player.getUniqueID(), target.posX, target.posZ, Metamorph.maxGhostsPerOwner.get(), Metamorph.maxGhostsPerChunk.get());
+
             EntityMorph morphEntity = new EntityMorph(player.world, player.getUniqueID(), morph);
 
             morphEntity.setPositionAndRotation(target.posX, target.posY + target.height / 2, target.posZ, target.rotationYaw, target.rotationPitch);
@@ -199,6 +236,43 @@ public class MorphHandler
             MinecraftForge.EVENT_BUS.post(new SpawnGhostEvent.Post(player, morph));
         }
     }
+
+    /**
+     * Keep track of ghosts on the server, either freshly spawned or 
+     * loaded with their chunk
+     */
+    @SubscribeEvent
+    public void onGhostJoinWorld(EntityJoinWorldEvent event)
+    {
+        if (!event.getWorld().isRemote && event.getEntity() instanceof EntityMorph)
+        {
+            GhostTracker.INSTANCE.add((EntityMorph) event.getEntity());
+        }
+    }
+
+    /**
+     * Forget ghosts which got unloaded along with their chunk
+     */
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event)
+    {
+        if (!event.getWorld().isRemote)
+        {
+            GhostTracker.INSTANCE.unloadChunk(event.getWorld(), event.getChunk().x, event.getChunk().z);
+        }
+    }
+
+    /**
+     * Forget ghosts of a world which got unloaded
+     */
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event)
+    {
+        if (!event.getWorld().isRemote)
+        {
+            GhostTracker.INSTANCE.unloadWorld(event.getWorld());
+        }
+    }
     
     /**
      * When an EntityMorph is updated, the entity may attempt to hurt the player.
@@ -301,7 +375,7 @@ public class MorphHandler
 			
 			AbstractMorph currentMorph = morphing.getCurrentMorph();
 
-            if (morphing.getCurrentMorph().settings.hostile && source.getAttackingEntity() != target && 
+            if (morphing.getCurrentMorph().getSettings().hostile && source.getAttackingEntity() != target && 
 			!(currentMorph instanceof mchorse.metamorph.api.morphs.EntityMorph && ((mchorse.metamorph.api.morphs.EntityMorph) currentMorph).getEntity() == source.getAttackingEntity()))
             {
                 if (source instanceof EntityLiving)
@@ -15,11 +15,12 @@ import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 
 /**
  * Morph manager class
@@ -54,20 +55,22 @@ public class MorphManager
     public List<IMorphFactory> factories = new ArrayList<IMorphFactory>();
 
     /**
-     * Active morph settings 
+     * Active morph settings. Active settings, blacklist and remapper are 
+     * read by both client and server threads (in single player), so they're 
+     * immutable snapshots which get replaced as a whole by setters below 
      */
-    public Map<String, MorphSettings> activeSettings = new HashMap<String, MorphSettings>();
+    public volatile Map<String, MorphSettings> activeSettings = Collections.emptyMap();
 
     /**
      * Active blacklist. Sent either from server, or getting assigned on 
-     * server start. Modifying this is a not a good idea 
+     * server start. It can't be modified, use {@link #setActiveBlacklist(Set)}
      */
-    public Set<String> activeBlacklist = new TreeSet<String>();
+    public volatile Set<String> activeBlacklist = Collections.emptySet();
 
     /**
      * Active morph ID remapper
      */
-    public Map<String, String> activeMap = new HashMap<String, String>();
+    public volatile Map<String, String> activeMap = Collections.emptyMap();
 
     /**
      * Global morph list
@@ -85,46 +88,32 @@ public class MorphManager
     /**
      * Set currently used morph ID blacklist
      */
-    public void setActiveBlacklist(Set<String> blacklist)
+    public synchronized void setActiveBlacklist(Set<String> blacklist)
     {
-        this.activeBlacklist.clear();
-        this.activeBlacklist.addAll(blacklist);
+        this.activeBlacklist = Collections.unmodifiableSet(new HashSet<String>(blacklist));
     }
 
     /**
-     * Set currently used morph settings
+     * Set currently used morph settings. Given settings become shared, 
+     * and previously active settings are left intact, morphs which used 
+     * them pick up new ones through {@link AbstractMorph#getSettings()}
      */
-    public void setActiveSettings(Map<String, MorphSettings> settings)
+    public synchronized void setActiveSettings(Map<String, MorphSettings> settings)
     {
-        Map<String, MorphSettings> newSettings = new HashMap<String, MorphSettings>();
-
-        for (Map.Entry<String, MorphSettings> entry : settings.entrySet())
+        for (MorphSettings setting : settings.values())
         {
-            String key = entry.getKey();
-            MorphSettings setting = this.activeSettings.get(key);
-
-            if (setting == null)
-            {
-                setting = entry.getValue();
-            }
-            else
-            {
-                setting.copy(entry.getValue());
-            }
-
-            newSettings.put(key, setting);
+            setting.shared = true;
         }
 
-        this.activeSettings = newSettings;
+        this.activeSettings = Collections.unmodifiableMap(new HashMap<String, MorphSettings>(settings));
     }
 
     /**
      * Set current morph ID remapper
      */
-    public void setActiveMap(Map<String, String> map)
+    public synchronized void setActiveMap(Map<String, String> map)
     {
-        this.activeMap.clear();
-        this.activeMap.putAll(map);
+        this.activeMap = Collections.unmodifiableMap(new HashMap<String, String>(map));
     }
 
     /**
@@ -237,9 +226,11 @@ public class MorphManager
             return;
         }
 
-        if (this.activeSettings.containsKey(morph.name))
+        MorphSettings settings = this.activeSettings.get(morph.name);
+
+        if (settings != null)
         {
-            morph.settings = this.activeSettings.get(morph.name);
+            morph.settings = settings;
         }
     }
 
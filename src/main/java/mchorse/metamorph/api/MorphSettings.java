@@ -4,6 +4,7 @@ import io.netty.buffer.ByteBuf;
 import mchorse.metamorph.api.abilities.IAbility;
 import mchorse.metamorph.api.abilities.IAction;
 import mchorse.metamorph.api.abilities.IAttackAbility;
+import mchorse.metamorph.api.morphs.AbstractMorph;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.nbt.NBTTagString;
@@ -68,6 +69,13 @@ public class MorphSettings
      */
     public boolean updates = true;
 
+    /**
+     * Whether these settings belong to {@link MorphManager}'s active 
+     * settings. Such settings are never modified, they get replaced by 
+     * reload instead, see {@link AbstractMorph#getSettings()}
+     */
+    public boolean shared;
+
     @Override
     public boolean equals(Object obj)
     {
@@ -81,6 +89,7 @@ public class MorphSettings
                 this.health == settings.health &&
                 this.speed == settings.speed &&
                 this.hostile == settings.hostile &&
+                this.hands == settings.hands &&
                 this.updates == settings.updates;
         }
 
@@ -101,8 +110,7 @@ public class MorphSettings
      */
     public void copy(MorphSettings setting)
     {
-        this.abilities.clear();
-        this.abilities.addAll(setting.abilities);
+        this.abilities = new ArrayList<IAbility>(setting.abilities);
 
         this.action = setting.action;
         this.attack = setting.attack;
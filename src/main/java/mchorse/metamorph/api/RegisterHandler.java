@@ -1,8 +1,8 @@
 package mchorse.metamorph.api;
 
-import com.google.common.reflect.TypeToken;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonReader;
 import mchorse.metamorph.Metamorph;
 import mchorse.metamorph.api.events.RegisterBlacklistEvent;
 import mchorse.metamorph.api.events.RegisterRemapEvent;
@@ -12,11 +12,14 @@ import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Type;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
 import java.util.Set;
 
 /**
@@ -38,7 +41,7 @@ public class RegisterHandler
     @SubscribeEvent
     public void onSettingsReload(RegisterSettingsEvent event)
     {
-        this.loadMorphSettings(event.settings, this.getClass().getClassLoader().getResourceAsStream("assets/metamorph/morphs.json"));
+        this.loadMorphSettings(event.settings, "assets/metamorph/morphs.json", this.getClass().getClassLoader().getResourceAsStream("assets/metamorph/morphs.json"));
         this.loadMorphSettings(event.settings, Metamorph.proxy.morphs);
     }
 
@@ -50,7 +53,7 @@ public class RegisterHandler
     {
         try
         {
-            this.loadMorphSettings(settings, new FileInputStream(config));
+            this.loadMorphSettings(settings, config.getName(), new FileInputStream(config));
         }
         catch (Exception e)
         {
@@ -59,32 +62,45 @@ public class RegisterHandler
     }
 
     /**
-     * Load morph settings from {@link InputStream}
+     * Load morph settings from {@link InputStream}. Settings are read one 
+     * by one into a temporary map, and merged into given map only once the 
+     * whole file was read, so a broken file doesn't leave them half merged
      */
-    private void loadMorphSettings(Map<String, MorphSettings> settings, InputStream input)
+    private void loadMorphSettings(Map<String, MorphSettings> settings, String name, InputStream input)
     {
-        Scanner scanner = new Scanner(input, "UTF-8");
-
-        @SuppressWarnings("serial")
-        Type type = (new TypeToken<Map<String, MorphSettings>>() {}).getType();
-        Map<String, MorphSettings> data = GSON.fromJson(scanner.useDelimiter("\\A").next(), type);
-
-        scanner.close();
-
-        for (Map.Entry<String, MorphSettings> entry : data.entrySet())
+        this.load(name, input, (reader) ->
         {
-            String key = entry.getKey();
-            MorphSettings morphSettings = entry.getValue();
+            Map<String, MorphSettings> loaded = new LinkedHashMap<String, MorphSettings>();
 
-            if (settings.containsKey(key))
+            reader.beginObject();
+
+            while (reader.hasNext())
             {
-                settings.get(key).copy(morphSettings);
+                String key = reader.nextName();
+                MorphSettings morphSettings = GSON.fromJson(reader, MorphSettings.class);
+
+                if (morphSettings != null)
+                {
+                    loaded.put(key, morphSettings);
+                }
             }
-            else
+
+            reader.endObject();
+
+            for (Map.Entry<String, MorphSettings> entry : loaded.entrySet())
             {
-                settings.put(key, morphSettings);
+                MorphSettings existing = settings.get(entry.getKey());
+
+                if (existing != null)
+                {
+                    existing.copy(entry.getValue());
+                }
+                else
+                {
+                    settings.put(entry.getKey(), entry.getValue());
+                }
             }
-        }
+        });
     }
 
     /**
@@ -105,14 +121,20 @@ public class RegisterHandler
     {
         try
         {
-            Scanner scanner = new Scanner(new FileInputStream(blacklist), "UTF-8");
+            this.load(blacklist.getName(), new FileInputStream(blacklist), (reader) ->
+            {
+                List<String> loaded = new ArrayList<String>();
 
-            @SuppressWarnings("serial")
-            Type type = (new TypeToken<List<String>>() {}).getType();
-            List<String> data = GSON.fromJson(scanner.useDelimiter("\\A").next(), type);
+                reader.beginArray();
 
-            set.addAll(data);
-            scanner.close();
+                while (reader.hasNext())
+                {
+                    loaded.add(reader.nextString());
+                }
+
+                reader.endArray();
+                set.addAll(loaded);
+            });
         }
         catch (Exception e)
         {
@@ -138,18 +160,63 @@ public class RegisterHandler
     {
         try
         {
-            Scanner scanner = new Scanner(new FileInputStream(remap), "UTF-8");
+            this.load(remap.getName(), new FileInputStream(remap), (reader) ->
+            {
+                reader.beginObject();
 
-            @SuppressWarnings("serial")
-            Type type = (new TypeToken<Map<String, String>>() {}).getType();
-            Map<String, String> data = GSON.fromJson(scanner.useDelimiter("\\A").next(), type);
+                while (reader.hasNext())
+                {
+                    map.put(reader.nextName(), reader.nextString());
+                }
 
-            map.putAll(data);
-            scanner.close();
+                reader.endObject();
+            });
         }
         catch (Exception e)
         {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Read given JSON stream with given loader. The stream gets closed 
+     * even if it fails to parse, and parsing errors are logged along with 
+     * the name of the file and the JSON path (syntax errors also include 
+     * the line and column in their message)
+     */
+    private void load(String name, InputStream input, IJsonLoader loader)
+    {
+        if (input == null)
+        {
+            return;
+        }
+
+        JsonReader reader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        /* Same leniency as Gson's fromJson() had */
+        reader.setLenient(true);
+
+        try
+        {
+            loader.load(reader);
+        }
+        catch (Exception e)
+        {
+            Metamorph.LOGGER.error("Failed to load " + name + " at " + reader.getPath(), e);
+        }
+        finally
+        {
+            try
+            {
+                reader.close();
+            }
+            catch (IOException e)
+            {}
+        }
+    }
+
+    private interface IJsonLoader
+    {
+        public void load(JsonReader reader) throws IOException;
+    }
 }
\ No newline at end of file
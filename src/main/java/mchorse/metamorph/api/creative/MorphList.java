@@ -1,5 +1,6 @@
 package mchorse.metamorph.api.creative;
 
+import mchorse.metamorph.api.creative.categories.MorphCategory;
 import mchorse.metamorph.api.creative.sections.MorphSection;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.world.World;
@@ -47,6 +48,22 @@ public class MorphList
         }
     }
 
+    /**
+     * Mark keybind indices of all categories as outdated (i.e. when
+     * acquired morphs were changed by the server), see
+     * {@link MorphCategory#invalidateKeybinds()}
+     */
+    public void invalidateKeybinds()
+    {
+        for (MorphSection section : this.sections)
+        {
+            for (MorphCategory category : section.categories)
+            {
+                category.invalidateKeybinds();
+            }
+        }
+    }
+
     /**
      * If any of the morphs have keybind attached, use it
      */
@@ -0,0 +1,200 @@
+package mchorse.metamorph.api.creative;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagList;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * User morph storage
+ *
+ * Binary storage of user morph categories (list.dat). The file starts with
+ * an index of categories (title, amount of morphs, offset and length of
+ * category's data), which is followed by compressed NBT of every category's
+ * morphs. Categories' data is kept compressed in memory until the category
+ * is needed, and unchanged categories are written back without encoding
+ * their morphs again.
+ */
+public class UserMorphStorage
+{
+    /**
+     * "MMUC" (Metamorph user categories)
+     */
+    public static final int MAGIC = 0x4d4d5543;
+    public static final int VERSION = 1;
+
+    /**
+     * Read all categories from given file
+     */
+    public static List<Entry> read(File file) throws IOException
+    {
+        List<Entry> entries = new ArrayList<Entry>();
+
+        try (RandomAccessFile stream = new RandomAccessFile(file, "r"))
+        {
+            if (stream.readInt() != MAGIC)
+            {
+                throw new IOException("File " + file.getName() + " isn't a user morph storage!");
+            }
+
+            int version = stream.readInt();
+
+            if (version > VERSION)
+            {
+                throw new IOException("Unsupported user morph storage version " + version + "!");
+            }
+
+            int count = stream.readInt();
+            List<long[]> offsets = new ArrayList<long[]>();
+
+            for (int i = 0; i < count; i ++)
+            {
+                String title = stream.readUTF();
+                int morphs = stream.readInt();
+
+                entries.add(new Entry(title, new Fragment(morphs)));
+                offsets.add(new long[] {stream.readLong(), stream.readInt()});
+            }
+
+            long start = stream.getFilePointer();
+
+            for (int i = 0; i < count; i ++)
+            {
+                long[] offset = offsets.get(i);
+                byte[] data = new byte[(int) offset[1]];
+
+                stream.seek(start + offset[0]);
+                stream.readFully(data);
+                entries.get(i).fragment.data = data;
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Write given categories to given file. It's written to a temporary
+     * file first, so a crash wouldn't leave a broken file
+     */
+    public static void write(File file, List<Entry> entries) throws IOException
+    {
+        File temp = new File(file.getPath() + ".tmp");
+        List<byte[]> data = new ArrayList<byte[]>();
+
+        for (Entry entry : entries)
+        {
+            data.add(entry.fragment.getData());
+        }
+
+        file.getParentFile().mkdirs();
+
+        try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(temp.toPath())))
+        {
+            long offset = 0;
+
+            stream.writeInt(MAGIC);
+            stream.writeInt(VERSION);
+            stream.writeInt(entries.size());
+
+            for (int i = 0; i < entries.size(); i ++)
+            {
+                Entry entry = entries.get(i);
+
+                stream.writeUTF(entry.title);
+                stream.writeInt(entry.fragment.count);
+                stream.writeLong(offset);
+                stream.writeInt(data.get(i).length);
+
+                offset += data.get(i).length;
+            }
+
+            for (byte[] bytes : data)
+            {
+                stream.write(bytes);
+            }
+        }
+
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Stored category
+     */
+    public static class Entry
+    {
+        public final String title;
+        public final Fragment fragment;
+
+        public Entry(String title, Fragment fragment)
+        {
+            this.title = title;
+            this.fragment = fragment;
+        }
+    }
+
+    /**
+     * Encoded morphs of a category. Fragments are created on the client
+     * thread, and compressed when they get written (on the writer thread),
+     * so morphs' NBT is never modified after a fragment was created.
+     */
+    public static class Fragment
+    {
+        public final int count;
+
+        private NBTTagList morphs;
+        private byte[] data;
+
+        public Fragment(NBTTagList morphs)
+        {
+            this.count = morphs.tagCount();
+            this.morphs = morphs;
+        }
+
+        private Fragment(int count)
+        {
+            this.count = count;
+        }
+
+        /**
+         * Get morphs' NBT, decompressing it if needed
+         */
+        public synchronized NBTTagList getMorphs() throws IOException
+        {
+            if (this.morphs == null)
+            {
+                this.morphs = CompressedStreamTools.readCompressed(new ByteArrayInputStream(this.data)).getTagList("Morphs", 10);
+            }
+
+            return this.morphs;
+        }
+
+        /**
+         * Get compressed morphs' NBT, compressing it if needed
+         */
+        public synchronized byte[] getData() throws IOException
+        {
+            if (this.data == null)
+            {
+                NBTTagCompound tag = new NBTTagCompound();
+                ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+                tag.setTag("Morphs", this.morphs);
+                CompressedStreamTools.writeCompressed(tag, stream);
+
+                this.data = stream.toByteArray();
+            }
+
+            return this.data;
+        }
+    }
+}
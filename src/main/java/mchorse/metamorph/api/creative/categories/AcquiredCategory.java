@@ -2,12 +2,17 @@ package mchorse.metamorph.api.creative.categories;
 
 import mchorse.metamorph.api.creative.sections.MorphSection;
 import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
+import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.client.MorphPrediction;
 import mchorse.metamorph.network.Dispatcher;
 import mchorse.metamorph.network.common.creative.PacketAcquireMorph;
 import mchorse.metamorph.network.common.creative.PacketSyncMorph;
 import mchorse.metamorph.network.common.survival.PacketRemoveMorph;
-import mchorse.metamorph.network.common.survival.PacketSelectMorph;
+import net.minecraft.client.Minecraft;
 import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.List;
 
@@ -21,6 +26,7 @@ public class AcquiredCategory extends MorphCategory
 	public void setMorph(List<AbstractMorph> morphs)
 	{
 		this.morphs = morphs;
+		this.invalidateKeybinds();
 	}
 
 	@Override
@@ -31,32 +37,45 @@ public class AcquiredCategory extends MorphCategory
 		Dispatcher.sendToServer(new PacketAcquireMorph(morph, false));
 	}
 
+	/**
+	 * Get server assigned ID of given acquired morph
+	 */
+	@SideOnly(Side.CLIENT)
+	private int getId(AbstractMorph morph)
+	{
+		IMorphing morphing = Morphing.get(Minecraft.getMinecraft().player);
+
+		return morphing == null ? -1 : morphing.getAcquiredId(morph);
+	}
+
 	@Override
 	public boolean isEditable(AbstractMorph morph)
 	{
-		return this.morphs.indexOf(morph) != -1;
+		return this.getId(morph) != -1;
 	}
 
 	@Override
 	public void edit(AbstractMorph morph)
 	{
-		int index = this.morphs.indexOf(morph);
+		super.edit(morph);
+
+		int id = this.getId(morph);
 
-		if (index >= 0)
+		if (id >= 0)
 		{
-			Dispatcher.sendToServer(new PacketSyncMorph(morph, index));
+			Dispatcher.sendToServer(new PacketSyncMorph(morph, id));
 		}
 	}
 
 	@Override
 	public boolean remove(AbstractMorph morph)
 	{
-		int index = this.morphs.indexOf(morph);
-		boolean has = index != -1;
+		int id = this.getId(morph);
+		boolean has = id != -1;
 
 		if (has)
 		{
-			Dispatcher.sendToServer(new PacketRemoveMorph(index));
+			Dispatcher.sendToServer(new PacketRemoveMorph(id));
 		}
 
 		return has;
@@ -65,11 +84,11 @@ public class AcquiredCategory extends MorphCategory
 	@Override
 	protected boolean morph(EntityPlayer player, AbstractMorph morph)
 	{
-		int index = this.morphs.indexOf(morph);
+		int id = this.getId(morph);
 
-		if (index >= 0)
+		if (id >= 0)
 		{
-			Dispatcher.sendToServer(new PacketSelectMorph(index));
+			MorphPrediction.INSTANCE.select(player, id, morph);
 		}
 
 		return true;
@@ -13,7 +13,9 @@ import net.minecraftforge.fml.relauncher.SideOnly;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MorphCategory
 {
@@ -22,6 +24,18 @@ public class MorphCategory
 	public String title;
 	protected List<AbstractMorph> morphs = new ArrayList<AbstractMorph>();
 
+	/**
+	 * Morphs by their keybinds (the first morph for every key code), null
+	 * if it has to be rebuilt
+	 */
+	private Map<Integer, AbstractMorph> keybinds;
+
+	/**
+	 * Gets incremented every time morphs of this category were changed,
+	 * so GUI could tell when its layout is outdated
+	 */
+	private int modCount;
+
 	public MorphCategory(MorphSection parent, String title)
 	{
 		this.parent = parent;
@@ -39,6 +53,11 @@ public class MorphCategory
 		return this.morphs;
 	}
 
+	public int getModCount()
+	{
+		return this.modCount;
+	}
+
 	public boolean isHidden()
 	{
 		return this.morphs.isEmpty();
@@ -46,7 +65,7 @@ public class MorphCategory
 
 	public AbstractMorph getEqual(AbstractMorph morph)
 	{
-		for (AbstractMorph child : this.morphs)
+		for (AbstractMorph child : this.getMorphs())
 		{
 			if (child.equals(morph))
 			{
@@ -60,11 +79,13 @@ public class MorphCategory
 	public void clear()
 	{
 		this.morphs.clear();
+		this.invalidateKeybinds();
 	}
 
 	public void sort()
 	{
-		Collections.sort(this.morphs, (a, b) -> a.name.compareToIgnoreCase(b.name));
+		Collections.sort(this.getMorphs(), (a, b) -> a.name.compareToIgnoreCase(b.name));
+		this.invalidateKeybinds();
 	}
 
 	public final void add(AbstractMorph morph)
@@ -77,11 +98,12 @@ public class MorphCategory
 		MorphManager.INSTANCE.applySettings(morph);
 
 		this.addMorph(morph);
+		this.invalidateKeybinds();
 	}
 
 	protected void addMorph(AbstractMorph morph)
 	{
-		this.morphs.add(morph);
+		this.getMorphs().add(morph);
 	}
 
 	public boolean isEditable(AbstractMorph morph)
@@ -90,24 +112,58 @@ public class MorphCategory
 	}
 
 	public void edit(AbstractMorph morph)
-	{}
+	{
+		this.invalidateKeybinds();
+	}
 
 	public boolean remove(AbstractMorph morph)
 	{
-		return this.morphs.remove(morph);
+		this.invalidateKeybinds();
+
+		return this.getMorphs().remove(morph);
+	}
+
+	/**
+	 * Mark the keybind index as outdated and count a modification, it
+	 * should be called when morphs of this category (or their keybinds or
+	 * favorite flags) were changed outside of this category
+	 */
+	public void invalidateKeybinds()
+	{
+		this.keybinds = null;
+		this.modCount ++;
 	}
 
 	public boolean keyTyped(EntityPlayer player, int keycode)
 	{
-		for (AbstractMorph morph : this.morphs)
+		AbstractMorph morph = this.getKeybinds().get(keycode);
+
+		if (morph != null && morph.keybind != keycode)
+		{
+			/* Keybind was changed without telling the category */
+			this.invalidateKeybinds();
+			morph = this.getKeybinds().get(keycode);
+		}
+
+		return morph != null && this.morph(player, morph);
+	}
+
+	private Map<Integer, AbstractMorph> getKeybinds()
+	{
+		if (this.keybinds == null)
 		{
-			if (morph.keybind == keycode && this.morph(player, morph))
+			this.keybinds = new HashMap<Integer, AbstractMorph>();
+
+			for (AbstractMorph morph : this.getMorphs())
 			{
-				return true;
+				if (morph.keybind != -1 && !this.keybinds.containsKey(morph.keybind))
+				{
+					this.keybinds.put(morph.keybind, morph);
+				}
 			}
 		}
 
-		return false;
+		return this.keybinds;
 	}
 
 	protected boolean morph(EntityPlayer player, AbstractMorph morph)
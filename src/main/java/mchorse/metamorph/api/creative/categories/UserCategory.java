@@ -6,13 +6,52 @@ import mchorse.metamorph.api.morphs.AbstractMorph;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import java.util.List;
+import java.util.function.Supplier;
+
 public class UserCategory extends MorphCategory
 {
+	/**
+	 * Supplies morphs of this category when they're needed for the first
+	 * time, null if morphs were already loaded
+	 */
+	private Supplier<List<AbstractMorph>> loader;
+
 	public UserCategory(MorphSection parent, String title)
 	{
 		super(parent, title);
 	}
 
+	/**
+	 * Set the loader of this category's morphs, morphs get loaded once
+	 * they're requested
+	 */
+	public void setLoader(Supplier<List<AbstractMorph>> loader)
+	{
+		this.loader = loader;
+		this.invalidateKeybinds();
+	}
+
+	@Override
+	public List<AbstractMorph> getMorphs()
+	{
+		if (this.loader != null)
+		{
+			this.morphs = this.loader.get();
+			this.loader = null;
+		}
+
+		return this.morphs;
+	}
+
+	@Override
+	public void clear()
+	{
+		this.loader = null;
+
+		super.clear();
+	}
+
 	@Override
 	@SideOnly(Side.CLIENT)
 	public String getTitle()
@@ -33,24 +72,26 @@ public class UserCategory extends MorphCategory
 
 		if (this.parent instanceof UserSection)
 		{
-			((UserSection) this.parent).save();
+			((UserSection) this.parent).save(this);
 		}
 	}
 
 	@Override
 	public boolean isEditable(AbstractMorph morph)
 	{
-		return this.morphs.indexOf(morph) != -1;
+		return this.getMorphs().indexOf(morph) != -1;
 	}
 
 	@Override
 	public void edit(AbstractMorph morph)
 	{
-		int index = this.morphs.indexOf(morph);
+		super.edit(morph);
+
+		int index = this.getMorphs().indexOf(morph);
 
 		if (index >= 0 && this.parent instanceof UserSection)
 		{
-			((UserSection) this.parent).save();
+			((UserSection) this.parent).save(this);
 		}
 	}
 
@@ -61,7 +102,7 @@ public class UserCategory extends MorphCategory
 
 		if (result && this.parent instanceof UserSection)
 		{
-			((UserSection) this.parent).save();
+			((UserSection) this.parent).save(this);
 		}
 
 		return result;
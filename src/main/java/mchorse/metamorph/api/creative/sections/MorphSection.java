@@ -47,6 +47,14 @@ public class MorphSection
 	public void update(World world)
 	{}
 
+	/**
+	 * This method gets called every frame while the section is shown in a
+	 * morph picker. Sections which add their morphs gradually should add
+	 * some more here
+	 */
+	public void populate()
+	{}
+
 	/**
 	 * This method gets called when player exits to the main menu
 	 */
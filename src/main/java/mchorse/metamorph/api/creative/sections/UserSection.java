@@ -7,6 +7,7 @@ import com.google.gson.JsonParser;
 import mchorse.mclib.utils.JsonUtils;
 import mchorse.metamorph.Metamorph;
 import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.creative.UserMorphStorage;
 import mchorse.metamorph.api.creative.categories.AcquiredCategory;
 import mchorse.metamorph.api.creative.categories.MorphCategory;
 import mchorse.metamorph.api.creative.categories.RecentCategory;
@@ -19,6 +20,7 @@ import mchorse.metamorph.client.gui.creative.GuiMorphSection;
 import mchorse.metamorph.client.gui.creative.GuiUserSection;
 import net.minecraft.client.Minecraft;
 import net.minecraft.nbt.JsonToNBT;
+import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
@@ -28,7 +30,15 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -42,15 +52,90 @@ public class UserSection extends MorphSection
 	public AcquiredCategory acquired;
 	public RecentCategory recent;
 
+	/**
+	 * Delay (in milliseconds) between a change and saving list.dat
+	 */
+	public static final long SAVE_DELAY = 1000;
+
+	/**
+	 * Background thread which writes list.dat
+	 */
+	private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor((runnable) ->
+	{
+		Thread thread = new Thread(runnable, "Metamorph user morphs writer");
+
+		thread.setDaemon(true);
+
+		return thread;
+	});
+
+	/**
+	 * Sections whose pending changes get written when the game gets closed
+	 */
+	private static final Set<UserSection> SECTIONS = Collections.newSetFromMap(new WeakHashMap<UserSection, Boolean>());
+
+	static
+	{
+		/* Don't lose pending changes when the game gets closed */
+		Runtime.getRuntime().addShutdownHook(new Thread(UserSection::flushAll, "Metamorph user morphs shutdown writer"));
+	}
+
 	public boolean loaded = false;
 	public List<UserCategory> global = new ArrayList<UserCategory>();
 
+	/**
+	 * Whether categories were imported from list.json, and have to be
+	 * saved to list.dat
+	 */
+	private boolean migrate;
+
+	/**
+	 * Encoded morphs of user categories which weren't changed since they
+	 * were loaded or saved
+	 */
+	private Map<UserCategory, UserMorphStorage.Fragment> fragments = new IdentityHashMap<UserCategory, UserMorphStorage.Fragment>();
+
+	/**
+	 * Categories which are waiting to be written
+	 */
+	private List<UserMorphStorage.Entry> pending;
+	private ScheduledFuture<?> task;
+
+	/**
+	 * Prevents the scheduled and the immediate writes from overlapping, and
+	 * an older snapshot from being written after a newer one
+	 */
+	private final Object writeLock = new Object();
+
 	public UserSection(String title)
 	{
 		super(title);
 
 		this.acquired = new AcquiredCategory(this, "acquired");
 		this.recent = new RecentCategory(this, "recent");
+
+		synchronized (SECTIONS)
+		{
+			SECTIONS.add(this);
+		}
+	}
+
+	/**
+	 * Write pending changes of all sections
+	 */
+	private static void flushAll()
+	{
+		List<UserSection> sections;
+
+		synchronized (SECTIONS)
+		{
+			sections = new ArrayList<UserSection>(SECTIONS);
+		}
+
+		for (UserSection section : sections)
+		{
+			section.flush();
+		}
 	}
 
 	@Override
@@ -96,6 +181,12 @@ public class UserSection extends MorphSection
 		{
 			this.load();
 			this.loaded = true;
+
+			if (this.migrate)
+			{
+				this.migrate = false;
+				this.save();
+			}
 		}
 
 		this.categories.addAll(this.global);
@@ -109,6 +200,7 @@ public class UserSection extends MorphSection
 		if (this.loaded)
 		{
 			this.save();
+			this.flush();
 			this.loaded = false;
 		}
 
@@ -116,6 +208,7 @@ public class UserSection extends MorphSection
 		this.acquired.clear();
 		this.recent.clear();
 		this.global.clear();
+		this.fragments.clear();
 	}
 
 	@Override
@@ -125,18 +218,101 @@ public class UserSection extends MorphSection
 		return new GuiUserSection(mc, parent, this, callback);
 	}
 
+	/**
+	 * Load user categories from list.dat, or migrate them from list.json
+	 * if there is no list.dat yet
+	 */
 	public void load()
 	{
-		File file = Metamorph.proxy.list;
+		File file = Metamorph.proxy.listData;
 
 		if (!file.exists())
 		{
+			if (Metamorph.proxy.list.exists())
+			{
+				this.global = this.importJson(Metamorph.proxy.list);
+				this.migrate = true;
+
+				System.out.println("Migrating " + this.global.size() + " categories from list.json to list.dat!");
+			}
+
 			return;
 		}
 
 		try
 		{
 			List<UserCategory> categories = new ArrayList<UserCategory>();
+			int i = 0;
+
+			for (UserMorphStorage.Entry entry : UserMorphStorage.read(file))
+			{
+				UserCategory category = new UserCategory(this, entry.title);
+				UserMorphStorage.Fragment fragment = entry.fragment;
+
+				/* Morphs get decoded once the category is needed */
+				category.setLoader(() -> this.decode(fragment));
+				this.fragments.put(category, fragment);
+
+				categories.add(category);
+				i += fragment.count;
+			}
+
+			System.out.println("Loading " + categories.size() + " categories with " + i + " morphs!");
+
+			this.global = categories;
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Decode morphs of a lazily loaded category
+	 */
+	private List<AbstractMorph> decode(UserMorphStorage.Fragment fragment)
+	{
+		List<AbstractMorph> morphs = new ArrayList<AbstractMorph>();
+
+		try
+		{
+			NBTTagList list = fragment.getMorphs();
+
+			for (int i = 0, c = list.tagCount(); i < c; i ++)
+			{
+				try
+				{
+					AbstractMorph morph = MorphManager.INSTANCE.morphFromNBT(list.getCompoundTagAt(i).copy());
+
+					if (morph != null && !MorphManager.isBlacklisted(morph.name))
+					{
+						MorphManager.INSTANCE.applySettings(morph);
+						morphs.add(morph);
+					}
+				}
+				catch (Exception e)
+				{
+					e.printStackTrace();
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+
+		return morphs;
+	}
+
+	/**
+	 * Read user categories from a JSON file (the format of list.json)
+	 */
+	public List<UserCategory> importJson(File file)
+	{
+		List<UserCategory> categories = new ArrayList<UserCategory>();
+
+		try
+		{
 			String content = FileUtils.readFileToString(file, Charset.defaultCharset());
 			JsonArray object = new JsonParser().parse(content).getAsJsonArray();
 			int i = 0;
@@ -170,22 +346,20 @@ public class UserSection extends MorphSection
 			}
 
 			System.out.println("Loading " + categories.size() + " categories with " + i + " morphs!");
-
-			this.global = categories;
 		}
 		catch (Exception e)
 		{
 			e.printStackTrace();
 		}
+
+		return categories;
 	}
 
-	public void save()
+	/**
+	 * Export user categories to a JSON file (the format of list.json)
+	 */
+	public void exportJson(File file)
 	{
-		if (!this.loaded)
-		{
-			return;
-		}
-
 		JsonArray array = new JsonArray();
 		int i = 0;
 
@@ -210,15 +384,124 @@ public class UserSection extends MorphSection
 			array.add(cat);
 		}
 
-		System.out.println("Saving " + array.size() + " categories with " + i + " morphs to list.json!");
+		System.out.println("Exporting " + array.size() + " categories with " + i + " morphs to " + file.getName() + "!");
 
 		try
 		{
-			FileUtils.writeStringToFile(Metamorph.proxy.list, JsonUtils.jsonToPretty(array), Charset.defaultCharset());
+			FileUtils.writeStringToFile(file, JsonUtils.jsonToPretty(array), Charset.defaultCharset());
 		}
 		catch (Exception e)
 		{
 			e.printStackTrace();
 		}
 	}
-}
+
+	/**
+	 * Save given category, only its morphs get encoded again
+	 */
+	public void save(UserCategory category)
+	{
+		this.fragments.remove(category);
+		this.save();
+	}
+
+	/**
+	 * Schedule saving of user categories to list.dat. Categories which
+	 * weren't changed since last save (or weren't even loaded) are taken
+	 * from the cache, and the file gets written on a background thread, at
+	 * most once per {@link #SAVE_DELAY} milliseconds.
+	 */
+	public void save()
+	{
+		if (!this.loaded)
+		{
+			return;
+		}
+
+		List<UserMorphStorage.Entry> entries = new ArrayList<UserMorphStorage.Entry>();
+
+		for (UserCategory category : this.global)
+		{
+			entries.add(new UserMorphStorage.Entry(category.getTitle(), this.getFragment(category)));
+		}
+
+		this.fragments.keySet().retainAll(this.global);
+
+		synchronized (WRITER)
+		{
+			this.pending = entries;
+
+			if (this.task == null || this.task.isDone())
+			{
+				this.task = WRITER.schedule(this::flush, SAVE_DELAY, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+
+	/**
+	 * Get encoded morphs of given category, encoding them if they aren't
+	 * cached
+	 */
+	private UserMorphStorage.Fragment getFragment(UserCategory category)
+	{
+		UserMorphStorage.Fragment fragment = this.fragments.get(category);
+
+		if (fragment == null)
+		{
+			NBTTagList morphs = new NBTTagList();
+
+			for (AbstractMorph morph : category.getMorphs())
+			{
+				if (morph != null)
+				{
+					morphs.appendTag(morph.toNBT());
+				}
+			}
+
+			fragment = new UserMorphStorage.Fragment(morphs);
+			this.fragments.put(category, fragment);
+		}
+
+		return fragment;
+	}
+
+	/**
+	 * Write pending categories to list.dat right away
+	 */
+	public void flush()
+	{
+		synchronized (this.writeLock)
+		{
+			List<UserMorphStorage.Entry> entries;
+
+			synchronized (WRITER)
+			{
+				entries = this.pending;
+				this.pending = null;
+			}
+
+			if (entries == null)
+			{
+				return;
+			}
+
+			int i = 0;
+
+			for (UserMorphStorage.Entry entry : entries)
+			{
+				i += entry.fragment.count;
+			}
+
+			System.out.println("Saving " + entries.size() + " categories with " + i + " morphs to list.dat!");
+
+			try
+			{
+				UserMorphStorage.write(Metamorph.proxy.listData, entries);
+			}
+			catch (Exception e)
+			{
+				e.printStackTrace();
+			}
+		}
+	}
+}
\ No newline at end of file
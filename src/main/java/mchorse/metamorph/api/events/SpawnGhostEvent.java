@@ -22,7 +22,9 @@ import net.minecraftforge.fml.common.eventhandler.Event;
  * 
  * Canceling the event will prevent the ghost from spawning.
  * 
- * {@link SpawnGhostEvent.Post} is fired after the ghost successfully spawns.
+ * {@link SpawnGhostEvent.Post} is fired after the ghost successfully spawns. 
+ * It isn't fired when the ghost was merged into an already existing ghost of 
+ * the same owner and the same morph.
  * 
  * @author asanetargoss
  */
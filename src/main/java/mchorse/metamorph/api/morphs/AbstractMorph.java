@@ -4,7 +4,10 @@ import mchorse.metamorph.Metamorph;
 import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.MorphSettings;
 import mchorse.metamorph.api.abilities.IAbility;
+import mchorse.metamorph.api.abilities.IAction;
+import mchorse.metamorph.api.abilities.IAttackAbility;
 import mchorse.metamorph.entity.SoundHandler;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.client.renderer.entity.Render;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
@@ -95,17 +98,26 @@ public abstract class AbstractMorph
 
     public boolean hasCustomSettings()
     {
-        if (this.settings == MorphSettings.DEFAULT)
-        {
-            return false;
-        }
+        return this.settings != MorphSettings.DEFAULT && !this.settings.shared;
+    }
+
+    /**
+     * Get morph settings. Shared settings are looked up in the current 
+     * {@link MorphManager#activeSettings}, because a reload replaces them 
+     * rather than modifying them
+     */
+    public MorphSettings getSettings()
+    {
+        MorphSettings settings = this.settings;
 
-        if (this.settings == MorphManager.INSTANCE.activeSettings.get(this.name))
+        if (settings.shared)
         {
-            return false;
+            settings = MorphManager.INSTANCE.activeSettings.get(this.name);
+
+            return settings == null ? MorphSettings.DEFAULT : settings;
         }
 
-        return true;
+        return settings;
     }
 
     /* Render methods */
@@ -139,14 +151,21 @@ public abstract class AbstractMorph
      */
     public void update(EntityLivingBase target)
     {
-        if (this.settings.speed != 0.1F)
+        MorphSettings settings = this.getSettings();
+
+        if (settings.speed != 0.1F)
         {
-            target.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED).setBaseValue(this.settings.speed);
+            target.getEntityAttribute(SharedMonsterAttributes.MOVEMENT_SPEED).setBaseValue(settings.speed);
         }
 
-        for (IAbility ability : this.settings.abilities)
+        MetamorphProfiler profiler = MetamorphProfiler.get(target.world.isRemote);
+
+        for (IAbility ability : settings.abilities)
         {
+            long start = System.nanoTime();
+
             ability.update(target);
+            profiler.endAbility(ability, start);
         }
     }
 
@@ -160,7 +179,7 @@ public abstract class AbstractMorph
      */
     public void morph(EntityLivingBase target)
     {
-        for (IAbility ability : this.settings.abilities)
+        for (IAbility ability : this.getSettings().abilities)
         {
             ability.onMorph(target);
         }
@@ -174,7 +193,7 @@ public abstract class AbstractMorph
      */
     public void demorph(EntityLivingBase target)
     {
-        for (IAbility ability : this.settings.abilities)
+        for (IAbility ability : this.getSettings().abilities)
         {
             ability.onDemorph(target);
         }
@@ -231,9 +250,11 @@ public abstract class AbstractMorph
      */
     public void action(EntityLivingBase target)
     {
-        if (this.settings.action != null)
+        IAction action = this.getSettings().action;
+
+        if (action != null)
         {
-            this.settings.action.execute(target, this);
+            action.execute(target, this);
         }
     }
 
@@ -242,9 +263,11 @@ public abstract class AbstractMorph
      */
     public void attack(Entity target, EntityLivingBase source)
     {
-        if (this.settings.attack != null)
+        IAttackAbility attack = this.getSettings().attack;
+
+        if (attack != null)
         {
-            this.settings.attack.attack(target, source);
+            attack.attack(target, source);
         }
     }
 
@@ -360,7 +383,7 @@ public abstract class AbstractMorph
 
             return Objects.equals(this.name, morph.name) &&
                 Objects.equals(this.displayName, morph.displayName) &&
-                Objects.equals(this.settings, morph.settings);
+                Objects.equals(this.getSettings(), morph.getSettings());
         }
 
         return super.equals(obj);
@@ -11,6 +11,7 @@ import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
 import mchorse.metamorph.entity.SoundHandler;
 import mchorse.metamorph.util.InvokeUtil;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.block.Block;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.model.ModelBase;
@@ -76,6 +77,20 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
     @SideOnly(Side.CLIENT)
     public static Map<Render, LayerBodyPart> bodyPartMap;
 
+    /**
+     * Cache map of renderers' texture getters (null if the renderer 
+     * doesn't have one), shared by all entity morphs
+     */
+    @SideOnly(Side.CLIENT)
+    private static Map<Class<?>, Method> textureMethods;
+
+    /**
+     * Cache map of renderers' left and right hands, shared by all entity 
+     * morphs
+     */
+    @SideOnly(Side.CLIENT)
+    private static Map<Render, ModelRenderer[]> handsMap;
+
     /**
      * Body part manager
      */
@@ -204,7 +219,7 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
     @SuppressWarnings("rawtypes")
     public boolean renderHand(EntityPlayer player, EnumHand hand)
     {
-        if (!this.settings.hands)
+        if (!this.getSettings().hands)
         {
             return true;
         }
@@ -461,10 +476,13 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
         }
 
         /* Update entity */
+        long start = System.nanoTime();
+
         this.updatingEntity = true;
         this.entity.setEntityInvulnerable(true);
         this.updateEntity(target);
         this.updatingEntity = false;
+        MetamorphProfiler.get(target.world.isRemote).end(MetamorphProfiler.ENTITY_UPDATE, start);
         this.entity.deathTime = target.deathTime;
         this.entity.hurtTime = target.hurtTime;
 
@@ -625,7 +643,7 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
 
     protected void updateEntity(EntityLivingBase target)
     {
-        if (this.settings.updates)
+        if (this.getSettings().updates)
         {
             if (!Metamorph.showMorphIdleSounds.get())
             {
@@ -692,6 +710,36 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
         }
     }
 
+    /**
+     * Preload client side stuff (entity, renderer, texture and hands) of 
+     * this morph, so the first time it's rendered wouldn't cause a hitch. 
+     * 
+     * Entity and renderer fields aren't carried over by {@link #copy()}, 
+     * so copies of this morph still create their own entity, but the 
+     * texture getter and hands are cached per renderer, and the texture 
+     * gets uploaded, which are shared by all copies
+     */
+    @SideOnly(Side.CLIENT)
+    public void preload(World world)
+    {
+        this.getEntity(world);
+
+        if (this.renderer == null || this.triedHands)
+        {
+            return;
+        }
+
+        this.setupTexture();
+        this.setupHands();
+        this.triedHands = true;
+
+        if (this.texture != null)
+        {
+            /* Loads (and uploads) the texture, if it wasn't loaded yet */
+            Minecraft.getMinecraft().renderEngine.bindTexture(this.texture);
+        }
+    }
+
     /**
      * Setup renderer
      * 
@@ -708,7 +756,7 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
             this.renderer = (RenderLivingBase) renderer;
             ModelBase model = this.renderer.getMainModel();
 
-            if (this.customSettings && model instanceof ModelBiped || model instanceof ModelQuadruped)
+            if (this.customSettings && (model instanceof ModelBiped || model instanceof ModelQuadruped))
             {
                 this.settings.hands = true;
             }
@@ -739,27 +787,46 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
     {
         Class<RenderLivingBase> clazz = (Class<RenderLivingBase>) this.renderer.getClass();
 
-        for (Method method : clazz.getDeclaredMethods())
+        if (textureMethods == null)
         {
-            Class[] args = method.getParameterTypes();
+            textureMethods = new HashMap<Class<?>, Method>();
+        }
 
-            boolean hasEntityArg = args.length == 1 && Entity.class.isAssignableFrom(args[0]);
-            boolean returnsRL = method.getReturnType().isAssignableFrom(ResourceLocation.class);
+        if (!textureMethods.containsKey(clazz))
+        {
+            Method found = null;
 
-            if (hasEntityArg && returnsRL)
+            for (Method method : clazz.getDeclaredMethods())
             {
-                try
+                Class[] args = method.getParameterTypes();
+
+                boolean hasEntityArg = args.length == 1 && Entity.class.isAssignableFrom(args[0]);
+                boolean returnsRL = method.getReturnType().isAssignableFrom(ResourceLocation.class);
+
+                if (hasEntityArg && returnsRL)
                 {
                     method.setAccessible(true);
-                    this.texture = (ResourceLocation) method.invoke(this.renderer, this.entity);
-                }
-                catch (Exception e)
-                {
-                    Metamorph.log("Failed to get texture of a morph '" + this.name + "'!");
-                    e.printStackTrace();
+                    found = method;
+
+                    break;
                 }
+            }
+
+            textureMethods.put(clazz, found);
+        }
+
+        Method method = textureMethods.get(clazz);
 
-                break;
+        if (method != null)
+        {
+            try
+            {
+                this.texture = (ResourceLocation) method.invoke(this.renderer, this.entity);
+            }
+            catch (Exception e)
+            {
+                Metamorph.log("Failed to get texture of a morph '" + this.name + "'!");
+                e.printStackTrace();
             }
         }
     }
@@ -771,8 +838,31 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
      * main model.
      */
     @SideOnly(Side.CLIENT)
-    @SuppressWarnings("rawtypes")
     protected void setupHands()
+    {
+        if (handsMap == null)
+        {
+            handsMap = new HashMap<Render, ModelRenderer[]>();
+        }
+
+        ModelRenderer[] hands = handsMap.get(this.renderer);
+
+        if (hands == null)
+        {
+            hands = this.findHands();
+            handsMap.put(this.renderer, hands);
+        }
+
+        this.leftHand = hands[0];
+        this.rightHand = hands[1];
+    }
+
+    /**
+     * Find left and right hands in renderer's main model
+     */
+    @SideOnly(Side.CLIENT)
+    @SuppressWarnings("rawtypes")
+    private ModelRenderer[] findHands()
     {
         ModelBase model = this.renderer.getMainModel();
 
@@ -780,13 +870,11 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
 
         if (model instanceof ModelBiped)
         {
-            this.leftHand = ((ModelBiped) model).bipedLeftArm;
-            this.rightHand = ((ModelBiped) model).bipedRightArm;
+            return new ModelRenderer[] {((ModelBiped) model).bipedLeftArm, ((ModelBiped) model).bipedRightArm};
         }
         else if (model instanceof ModelQuadruped)
         {
-            this.leftHand = ((ModelQuadruped) model).leg2;
-            this.rightHand = ((ModelQuadruped) model).leg3;
+            return new ModelRenderer[] {((ModelQuadruped) model).leg2, ((ModelQuadruped) model).leg3};
         }
         else
         {
@@ -815,8 +903,7 @@ public class EntityMorph extends AbstractMorph implements IBodyPartProvider
                 }
             });
 
-            this.leftHand = left.isEmpty() ? null : left.get(0);
-            this.rightHand = right.isEmpty() ? null : right.get(0);
+            return new ModelRenderer[] {left.isEmpty() ? null : left.get(0), right.isEmpty() ? null : right.get(0)};
         }
     }
 
@@ -6,13 +6,15 @@ import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
 import mchorse.metamorph.capabilities.morphing.MorphingProvider;
 import mchorse.metamorph.capabilities.render.ModelProvider;
+import mchorse.metamorph.network.ConfigSync;
 import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.NetworkStats;
 import mchorse.metamorph.network.common.survival.PacketAcquiredMorphs;
-import mchorse.metamorph.network.common.PacketBlacklist;
+import mchorse.metamorph.network.common.PacketConfigDiff;
+import mchorse.metamorph.network.common.PacketConfigDigest;
 import mchorse.metamorph.network.common.creative.PacketMorph;
 import mchorse.metamorph.network.common.survival.PacketMorphPlayer;
 import mchorse.metamorph.network.common.survival.PacketMorphState;
-import mchorse.metamorph.network.common.PacketSettings;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.player.EntityPlayer;
@@ -24,6 +26,7 @@ import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent.StartTracking;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
 
 /**
  * Capability handler class
@@ -73,12 +76,31 @@ public class CapabilityHandler
             }
 
             /* Send data */
-            Dispatcher.sendTo(new PacketBlacklist(MorphManager.INSTANCE.activeBlacklist), (EntityPlayerMP) player);
-            Dispatcher.sendTo(new PacketSettings(MorphManager.INSTANCE.activeSettings), (EntityPlayerMP) player);
+            Dispatcher.sendTo(new PacketConfigDigest(ConfigSync.getDigest()), (EntityPlayerMP) player);
+
+            /* The whole remapper (even if it's empty) replaces the one
+             * which may be left from a previous server */
+            PacketConfigDiff remap = new PacketConfigDiff();
+
+            remap.replaceRemap = true;
+            remap.remap.putAll(MorphManager.INSTANCE.activeMap);
+            Dispatcher.sendTo(remap, (EntityPlayerMP) player);
+
             Dispatcher.sendTo(new PacketMorphState(player, cap), (EntityPlayerMP) player);
         }
     }
 
+    /**
+     * Forget unfinished chunked messages and network stats of the player 
+     * who logged out
+     */
+    @SubscribeEvent
+    public void playerLogsOut(PlayerLoggedOutEvent event)
+    {
+        Dispatcher.CHUNKS.clear(event.player.getUniqueID());
+        NetworkStats.SERVER.removePlayer(event.player.getUniqueID());
+    }
+
     /**
      * When player starts tracking another player, server has to send its
      * morphing values.
@@ -143,6 +165,6 @@ public class CapabilityHandler
         EntityPlayerMP mp = (EntityPlayerMP) player;
 
         Dispatcher.sendTo(new PacketMorph(cap.getCurrentMorph()), mp);
-        Dispatcher.sendTo(new PacketAcquiredMorphs(cap.getAcquiredMorphs()), mp);
+        Dispatcher.sendTo(new PacketAcquiredMorphs(cap), mp);
     }
 }
\ No newline at end of file
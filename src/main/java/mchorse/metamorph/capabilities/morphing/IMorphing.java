@@ -1,6 +1,7 @@
 package mchorse.metamorph.capabilities.morphing;
 
 import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.entity.SoundProfile;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.util.DamageSource;
 import net.minecraftforge.fml.relauncher.Side;
@@ -58,6 +59,12 @@ public interface IMorphing
      */
     public boolean acquireMorph(AbstractMorph morph);
 
+    /**
+     * Add a morph with given ID assigned by the server (client side). If 
+     * an equal morph was already added, it gets given ID instead
+     */
+    public boolean acquireMorph(AbstractMorph morph, int id);
+
     /**
      * Check if this capability has acquired a morph
      */
@@ -73,6 +80,27 @@ public interface IMorphing
      */
     public void setAcquiredMorphs(List<AbstractMorph> morphs);
 
+    /**
+     * Set acquired morph with IDs assigned by the server (client side)
+     */
+    public void setAcquiredMorphs(List<AbstractMorph> morphs, int[] ids);
+
+    /**
+     * Get ID of given acquired morph, or -1 if given morph instance isn't 
+     * acquired (or wasn't confirmed by the server yet)
+     */
+    public int getAcquiredId(AbstractMorph morph);
+
+    /**
+     * Get acquired morph by its ID, or null
+     */
+    public AbstractMorph getAcquiredMorph(int id);
+
+    /**
+     * Replace acquired morph with given ID
+     */
+    public boolean setAcquiredMorph(int id, AbstractMorph morph);
+
     /**
      * Get current morph 
      */
@@ -83,6 +111,11 @@ public interface IMorphing
      */
     public boolean setCurrentMorph(AbstractMorph morph, EntityPlayer player, boolean force);
 
+    /**
+     * Get sound profile of current morph, or null if not morphed
+     */
+    public SoundProfile getSoundProfile(EntityPlayer player);
+
     /**
      * Demorph this capability 
      */
@@ -94,22 +127,19 @@ public interface IMorphing
     public boolean isMorphed();
 
     /**
-     * Favorite or unfavorite a morph by given index
-     * 
-     * @return if true then given favorite was added, or false if it was 
-     *         removed
+     * Favorite or unfavorite an acquired morph by given ID
      */
-    public void favorite(int index);
+    public void favorite(int id);
 
     /**
-     * Change keybind
+     * Change keybind of an acquired morph by given ID
      */
-    public void keybind(int index, int keybind);
+    public void keybind(int id, int keybind);
 
     /**
-     * Remove a morph at given index
+     * Remove an acquired morph by given ID
      */
-    public boolean remove(int index);
+    public boolean remove(int id);
 
     /**
      * Copy data from other morph 
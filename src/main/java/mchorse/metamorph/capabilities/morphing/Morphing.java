@@ -1,12 +1,17 @@
 package mchorse.metamorph.capabilities.morphing;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import mchorse.metamorph.Metamorph;
 import mchorse.metamorph.api.Morph;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.entity.SoundProfile;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.client.renderer.GlStateManager;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.SharedMonsterAttributes;
@@ -31,11 +36,33 @@ public class Morphing implements IMorphing
      */
     private List<AbstractMorph> acquiredMorphs = new ArrayList<AbstractMorph>();
 
+    /**
+     * Acquired morphs by their IDs. IDs are assigned by the server, and
+     * they don't change when other morphs get acquired or removed 
+     */
+    private Map<Integer, AbstractMorph> acquiredById = new HashMap<Integer, AbstractMorph>();
+
+    /**
+     * IDs of acquired morphs (by identity, because morph's equality depends 
+     * on its data, which may be edited) 
+     */
+    private Map<AbstractMorph, Integer> acquiredIds = new IdentityHashMap<AbstractMorph, Integer>();
+
+    /**
+     * ID of the next acquired morph 
+     */
+    private int nextAcquiredId;
+
     /**
      * Current used morph
      */
     private Morph morph = new Morph();
 
+    /**
+     * Sound profile of current morph (computed on morph)
+     */
+    private SoundProfile soundProfile;
+
     /**
      * Used for animation
      */
@@ -208,10 +235,56 @@ public class Morphing implements IMorphing
         }
 
         this.acquiredMorphs.add(morph);
+        this.assignId(morph, this.nextAcquiredId);
 
         return true;
     }
 
+    @Override
+    public boolean acquireMorph(AbstractMorph morph, int id)
+    {
+        if (morph == null)
+        {
+            return false;
+        }
+
+        /* Morphs added locally (by creative morph picker) don't have an ID 
+         * until the server confirms them */
+        for (AbstractMorph acquired : this.acquiredMorphs)
+        {
+            if (acquired.equals(morph))
+            {
+                if (!this.acquiredIds.containsKey(acquired))
+                {
+                    this.assignId(acquired, id);
+                }
+
+                return false;
+            }
+        }
+
+        this.acquiredMorphs.add(morph);
+        this.assignId(morph, id);
+
+        return true;
+    }
+
+    /**
+     * Assign given ID to given acquired morph 
+     */
+    private void assignId(AbstractMorph morph, int id)
+    {
+        AbstractMorph previous = this.acquiredById.put(id, morph);
+
+        if (previous != null && previous != morph)
+        {
+            this.acquiredIds.remove(previous);
+        }
+
+        this.acquiredIds.put(morph, id);
+        this.nextAcquiredId = Math.max(this.nextAcquiredId, id + 1);
+    }
+
     @Override
     public boolean acquiredMorph(AbstractMorph morph)
     {
@@ -234,9 +307,88 @@ public class Morphing implements IMorphing
 
     @Override
     public void setAcquiredMorphs(List<AbstractMorph> morphs)
+    {
+        this.clearAcquiredMorphs();
+
+        for (AbstractMorph morph : morphs)
+        {
+            this.acquiredMorphs.add(morph);
+            this.assignId(morph, this.nextAcquiredId);
+        }
+    }
+
+    @Override
+    public void setAcquiredMorphs(List<AbstractMorph> morphs, int[] ids)
+    {
+        this.clearAcquiredMorphs();
+
+        for (int i = 0; i < morphs.size(); i++)
+        {
+            AbstractMorph morph = morphs.get(i);
+
+            this.acquiredMorphs.add(morph);
+            this.assignId(morph, ids[i]);
+        }
+    }
+
+    private void clearAcquiredMorphs()
     {
         this.acquiredMorphs.clear();
-        this.acquiredMorphs.addAll(morphs);
+        this.acquiredById.clear();
+        this.acquiredIds.clear();
+    }
+
+    @Override
+    public int getAcquiredId(AbstractMorph morph)
+    {
+        Integer id = this.acquiredIds.get(morph);
+
+        return id == null ? -1 : id;
+    }
+
+    @Override
+    public AbstractMorph getAcquiredMorph(int id)
+    {
+        return this.acquiredById.get(id);
+    }
+
+    @Override
+    public boolean setAcquiredMorph(int id, AbstractMorph morph)
+    {
+        AbstractMorph previous = this.acquiredById.get(id);
+
+        if (previous == null || morph == null)
+        {
+            return false;
+        }
+
+        int index = this.indexOfAcquired(previous);
+
+        if (index >= 0)
+        {
+            this.acquiredMorphs.set(index, morph);
+        }
+
+        this.acquiredIds.remove(previous);
+        this.assignId(morph, id);
+
+        return true;
+    }
+
+    /**
+     * Find given acquired morph by identity 
+     */
+    private int indexOfAcquired(AbstractMorph morph)
+    {
+        for (int i = 0, c = this.acquiredMorphs.size(); i < c; i++)
+        {
+            if (this.acquiredMorphs.get(i) == morph)
+            {
+                return i;
+            }
+        }
+
+        return -1;
     }
 
     @Override
@@ -277,8 +429,10 @@ public class Morphing implements IMorphing
             {
                 AbstractMorph current = this.morph.get();
 
-                this.setHealth(player, current.settings.health);
+                this.setHealth(player, current.getSettings().health);
                 current.morph(player);
+
+                this.soundProfile = new SoundProfile(current, player);
             }
 
             return true;
@@ -287,6 +441,17 @@ public class Morphing implements IMorphing
         return false;
     }
 
+    @Override
+    public SoundProfile getSoundProfile(EntityPlayer player)
+    {
+        if (this.soundProfile == null && !this.morph.isEmpty())
+        {
+            this.soundProfile = new SoundProfile(this.morph.get(), player);
+        }
+
+        return this.soundProfile;
+    }
+
     @Override
     public void demorph(EntityPlayer player)
     {
@@ -313,6 +478,8 @@ public class Morphing implements IMorphing
 
         if (this.morph.set(morph))
         {
+            this.soundProfile = null;
+
             if (!Metamorph.disableMorphAnimation.get())
             {
                 this.animation = 20;
@@ -329,33 +496,42 @@ public class Morphing implements IMorphing
     }
 
     @Override
-    public void favorite(int index)
+    public void favorite(int id)
     {
-        if (index >= 0 && index < this.acquiredMorphs.size())
-        {
-            AbstractMorph morph = this.acquiredMorphs.get(index);
+        AbstractMorph morph = this.acquiredById.get(id);
 
+        if (morph != null)
+        {
             morph.favorite = !morph.favorite;
         }
     }
 
     @Override
-    public void keybind(int index, int keycode)
+    public void keybind(int id, int keycode)
     {
-        if (index >= 0 && index < this.acquiredMorphs.size())
-        {
-            AbstractMorph morph = this.acquiredMorphs.get(index);
+        AbstractMorph morph = this.acquiredById.get(id);
 
+        if (morph != null)
+        {
             morph.keybind = keycode;
         }
     }
 
     @Override
-    public boolean remove(int index)
+    public boolean remove(int id)
     {
-        if (index >= 0 && index < this.acquiredMorphs.size())
+        AbstractMorph morph = this.acquiredById.remove(id);
+
+        if (morph != null)
         {
-            this.acquiredMorphs.remove(index);
+            int index = this.indexOfAcquired(morph);
+
+            this.acquiredIds.remove(morph);
+
+            if (index >= 0)
+            {
+                this.acquiredMorphs.remove(index);
+            }
 
             return true;
         }
@@ -366,7 +542,11 @@ public class Morphing implements IMorphing
     @Override
     public void copy(IMorphing morphing, EntityPlayer player)
     {
-        this.acquiredMorphs.addAll(morphing.getAcquiredMorphs());
+        for (AbstractMorph morph : morphing.getAcquiredMorphs())
+        {
+            this.acquiredMorphs.add(morph);
+            this.assignId(morph, this.nextAcquiredId);
+        }
 
         if (morphing.getCurrentMorph() != null)
         {
@@ -429,6 +609,9 @@ public class Morphing implements IMorphing
     @Override
     public void update(EntityPlayer player)
     {
+        MetamorphProfiler profiler = MetamorphProfiler.get(player.world.isRemote);
+        long start = System.nanoTime();
+
         if (this.animation >= 0)
         {
             this.animation--;
@@ -448,11 +631,16 @@ public class Morphing implements IMorphing
 
             if (!Metamorph.disableHealth.get())
             {
-                this.setMaxHealth(player, morph.settings.health);
+                this.setMaxHealth(player, morph.getSettings().health);
             }
 
+            long morphStart = System.nanoTime();
+
             morph.update(player);
+            profiler.end(MetamorphProfiler.MORPH_UPDATE, morphStart);
         }
+
+        profiler.end(MetamorphProfiler.MORPHING_UPDATE, start);
     }
 
     /* Adjusting health */
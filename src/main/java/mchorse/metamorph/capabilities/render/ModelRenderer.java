@@ -4,6 +4,7 @@ import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.client.EntityModelHandler;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityLivingBase;
 
@@ -22,6 +23,8 @@ public class ModelRenderer implements IModelRenderer
     @Override
     public void update(EntityLivingBase target)
     {
+        long start = System.nanoTime();
+
         if (this.check == 10)
         {
             this.watchSelector(target);
@@ -34,6 +37,8 @@ public class ModelRenderer implements IModelRenderer
         {
             this.morph.update(target);
         }
+
+        MetamorphProfiler.get(target.world.isRemote).end(MetamorphProfiler.MODEL_RENDERER, start);
     }
 
     /**
@@ -9,7 +9,6 @@ import mchorse.metamorph.client.gui.creative.GuiCreativeScreen;
 import mchorse.metamorph.client.gui.creative.GuiSelectorsScreen;
 import mchorse.metamorph.network.Dispatcher;
 import mchorse.metamorph.network.common.survival.PacketAction;
-import mchorse.metamorph.network.common.survival.PacketSelectMorph;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.settings.KeyBinding;
 import net.minecraft.entity.player.EntityPlayer;
@@ -105,7 +104,7 @@ public class KeyboardHandler
         {
             if (morphing != null && morphing.isMorphed())
             {
-                Dispatcher.sendToServer(new PacketSelectMorph(-1));
+                MorphPrediction.INSTANCE.select(player, -1, null);
                 wasUsed = true;
             }
         }
@@ -0,0 +1,141 @@
+package mchorse.metamorph.client;
+
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.api.EntityUtils;
+import mchorse.metamorph.api.MorphUtils;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
+import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.survival.PacketSelectMorph;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.GameType;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent.ClientDisconnectionFromServerEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.Objects;
+
+/**
+ * Morph prediction
+ *
+ * Selecting an acquired morph (or demorphing) is applied on the client
+ * right away, instead of waiting for the server to morph the player. Every
+ * selection gets a sequence number, which the server confirms or rejects
+ * (tight space, cancelled morph event, etc.). When the latest selection
+ * gets rejected, the player is morphed back into the morph which the
+ * server has confirmed the last.
+ */
+@SideOnly(Side.CLIENT)
+public class MorphPrediction
+{
+    public static final MorphPrediction INSTANCE = new MorphPrediction();
+
+    /**
+     * Sequence number of the latest selection
+     */
+    private int sequence;
+
+    /**
+     * Whether the player is in a predicted morph, and the latest selection
+     * wasn't confirmed or rejected yet
+     */
+    private boolean pending;
+
+    /**
+     * The last morph which was confirmed by the server
+     */
+    private AbstractMorph confirmed;
+
+    /**
+     * Select an acquired morph with given ID (or demorph if the morph is
+     * null), applying it immediately
+     */
+    public void select(EntityPlayer player, int id, AbstractMorph morph)
+    {
+        IMorphing morphing = Morphing.get(player);
+
+        this.sequence += 1;
+
+        if (morphing != null && this.canPredict(player, morphing, morph))
+        {
+            if (!this.pending)
+            {
+                this.confirmed = morphing.getCurrentMorph();
+            }
+
+            this.pending = true;
+            morphing.setCurrentMorph(MorphUtils.copy(morph), player, true);
+        }
+
+        /* When this selection can't be predicted, but an earlier one is
+         * still pending, the player stays in the predicted morph until this
+         * selection resolves, and then gets the confirmed morph */
+
+        Dispatcher.sendToServer(new PacketSelectMorph(id, this.sequence));
+    }
+
+    /**
+     * Check whether the server is going to morph the player for sure (at
+     * least as far as the client can tell)
+     */
+    private boolean canPredict(EntityPlayer player, IMorphing morphing, AbstractMorph morph)
+    {
+        if (KeyboardHandler.getGameMode(player) == GameType.ADVENTURE)
+        {
+            return false;
+        }
+
+        return player.noClip || Metamorph.morphInTightSpaces.get() || EntityUtils.canPlayerMorphFit(player, morphing.getCurrentMorph(), morph);
+    }
+
+    /**
+     * Server has morphed the player into given morph. Returns true, if
+     * it shouldn't be applied, because the player is morphed into a
+     * predicted morph which wasn't confirmed yet
+     */
+    public boolean morph(AbstractMorph morph)
+    {
+        if (!this.pending)
+        {
+            return false;
+        }
+
+        this.confirmed = morph;
+
+        return true;
+    }
+
+    /**
+     * Server confirmed or rejected selection with given sequence number
+     */
+    public void confirm(EntityPlayer player, int sequence, boolean accepted)
+    {
+        if (!this.pending || sequence != this.sequence)
+        {
+            return;
+        }
+
+        IMorphing morphing = Morphing.get(player);
+
+        this.pending = false;
+
+        if (morphing != null && (!accepted || !Objects.equals(morphing.getCurrentMorph(), this.confirmed)))
+        {
+            morphing.setCurrentMorph(MorphUtils.copy(this.confirmed), player, true);
+        }
+
+        this.confirmed = null;
+    }
+
+    /**
+     * Forget about unconfirmed selection when leaving the server
+     */
+    @SubscribeEvent
+    public void onDisconnect(ClientDisconnectionFromServerEvent event)
+    {
+        this.pending = false;
+        this.confirmed = null;
+    }
+}
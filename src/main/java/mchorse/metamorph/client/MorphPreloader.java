@@ -0,0 +1,122 @@
+package mchorse.metamorph.client;
+
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.api.morphs.EntityMorph;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
+import net.minecraft.client.Minecraft;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.RenderTickEvent;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent.ClientDisconnectionFromServerEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Morph preloader
+ *
+ * Setting up an entity morph for the first time (creating the entity,
+ * looking up its renderer, texture and hands, uploading the texture) can
+ * stall a frame. Preloader does that ahead of time for morphs which the
+ * player is likely to morph into (favorite and keybound acquired morphs,
+ * and the morph hovered in the survival menu), one morph per frame after
+ * the frame was rendered.
+ *
+ * Selecting a morph morphs the player into a copy of it, which creates its
+ * own entity. What carries over to the copy is what's shared between
+ * morphs: loaded entity and renderer classes, the renderer's texture
+ * getter and hands (cached per renderer) and the uploaded texture.
+ */
+@SideOnly(Side.CLIENT)
+public class MorphPreloader
+{
+    public static final MorphPreloader INSTANCE = new MorphPreloader();
+
+    private Deque<AbstractMorph> queue = new ArrayDeque<AbstractMorph>();
+
+    /**
+     * Queue favorite and keybound acquired morphs of given capability
+     */
+    public void preloadAcquired(IMorphing morphing)
+    {
+        for (AbstractMorph morph : morphing.getAcquiredMorphs())
+        {
+            if (morph.favorite || morph.keybind >= 0)
+            {
+                this.preload(morph);
+            }
+        }
+    }
+
+    /**
+     * Queue given morph
+     */
+    public void preload(AbstractMorph morph)
+    {
+        if (this.needsPreloading(morph) && !this.queue.contains(morph))
+        {
+            this.queue.addLast(morph);
+        }
+    }
+
+    /**
+     * Queue given morph before all other morphs
+     */
+    public void prioritize(AbstractMorph morph)
+    {
+        if (this.needsPreloading(morph) && this.queue.peekFirst() != morph)
+        {
+            this.queue.remove(morph);
+            this.queue.addFirst(morph);
+        }
+    }
+
+    private boolean needsPreloading(AbstractMorph morph)
+    {
+        if (morph instanceof EntityMorph)
+        {
+            EntityMorph entityMorph = (EntityMorph) morph;
+
+            return entityMorph.getEntity() == null || !entityMorph.triedHands;
+        }
+
+        return false;
+    }
+
+    @SubscribeEvent
+    public void onRenderTick(RenderTickEvent event)
+    {
+        Minecraft mc = Minecraft.getMinecraft();
+
+        if (event.phase != Phase.END || this.queue.isEmpty() || mc.world == null)
+        {
+            return;
+        }
+
+        AbstractMorph morph = this.queue.poll();
+
+        if (!this.needsPreloading(morph))
+        {
+            return;
+        }
+
+        try
+        {
+            ((EntityMorph) morph).preload(mc.world);
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to preload morph '" + morph.name + "'!");
+            e.printStackTrace();
+        }
+    }
+
+    @SubscribeEvent
+    public void onDisconnect(ClientDisconnectionFromServerEvent event)
+    {
+        Minecraft.getMinecraft().addScheduledTask(this.queue::clear);
+    }
+}
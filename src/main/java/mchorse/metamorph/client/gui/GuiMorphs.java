@@ -160,34 +160,19 @@ public class GuiMorphs extends GuiScrollElement
 
 	private AbstractMorph getFirstMorph(int ox, int y)
 	{
-		List<AbstractMorph> list = this.selected.category.getMorphs();
-		AbstractMorph first = null;
+		List<AbstractMorph> list = this.selected.getMorphs(this.selected.category);
 
 		int row = this.selected.getPerRow();
-		int j = 0;
-		int c = this.selected.getMorphsSize(this.selected.category);
+		int c = list.size();
 		int firstIndex = y < 0 ? c - 1 : 0;
 		int lastIndex = y < 0 ? (c - 1) / row * row + ox : ox;
 
-		for (AbstractMorph morph : list)
+		if (lastIndex >= 0 && lastIndex < c)
 		{
-			if (this.selected.isMatching(morph))
-			{
-				if (j == firstIndex)
-				{
-					first = morph;
-				}
-
-				if (j == lastIndex)
-				{
-					return morph;
-				}
-
-				j ++;
-			}
+			return list.get(lastIndex);
 		}
 
-		return first;
+		return firstIndex >= 0 && firstIndex < c ? list.get(firstIndex) : null;
 	}
 
 	/* Morph selection */
@@ -8,6 +8,7 @@ import mchorse.metamorph.api.creative.sections.UserSection;
 import mchorse.metamorph.api.events.ReloadMorphs;
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.client.gui.GuiMorphs;
+import mchorse.metamorph.client.render.MorphThumbnails;
 import net.minecraft.client.Minecraft;
 import net.minecraftforge.common.MinecraftForge;
 
@@ -115,6 +116,7 @@ public class GuiCreativeMorphs extends GuiMorphs
 		if (morph != null && this.selected != null && this.selected.category != null)
 		{
 			this.selected.category.edit(morph);
+			MorphThumbnails.INSTANCE.invalidate(morph);
 		}
 	}
 
@@ -2,12 +2,14 @@ package mchorse.metamorph.client.gui.creative;
 
 import mchorse.mclib.McLib;
 import mchorse.mclib.client.gui.framework.elements.GuiElement;
+import mchorse.mclib.client.gui.framework.elements.GuiScrollElement;
 import mchorse.mclib.client.gui.framework.elements.context.GuiContextMenu;
 import mchorse.mclib.client.gui.framework.elements.context.GuiSimpleContextMenu;
 import mchorse.mclib.client.gui.framework.elements.utils.GuiContext;
 import mchorse.mclib.client.gui.framework.elements.utils.GuiDraw;
 import mchorse.mclib.client.gui.utils.Area;
 import mchorse.mclib.client.gui.utils.Icons;
+import mchorse.mclib.client.gui.utils.ScrollArea;
 import mchorse.mclib.client.gui.utils.keys.IKey;
 import mchorse.mclib.utils.Keys;
 import mchorse.metamorph.api.MorphUtils;
@@ -16,12 +18,16 @@ import mchorse.metamorph.api.creative.categories.UserCategory;
 import mchorse.metamorph.api.creative.sections.MorphSection;
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.client.gui.GuiMorphs;
+import mchorse.metamorph.client.render.MorphThumbnails;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
 import net.minecraft.client.gui.GuiScreen;
 import net.minecraft.client.renderer.GlStateManager;
 import org.lwjgl.opengl.GL11;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.function.Consumer;
 
 public class GuiMorphSection extends GuiElement
@@ -48,6 +54,17 @@ public class GuiMorphSection extends GuiElement
 
 	private String filter = "";
 
+	/**
+	 * Cached positions of categories, which is rebuilt only when the filter,
+	 * the width or the contents of categories change
+	 */
+	private Layout layout = new Layout();
+
+	/**
+	 * Search index of morphs in this section
+	 */
+	protected MorphSearchIndex index = new MorphSearchIndex();
+
 	public GuiMorphSection(Minecraft mc, GuiCreativeMorphsList parent, MorphSection section, Consumer<GuiMorphSection> callback)
 	{
 		super(mc);
@@ -93,6 +110,14 @@ public class GuiMorphSection extends GuiElement
 		this.filter = filter;
 	}
 
+	/**
+	 * Get the morph under the mouse (during the last frame), or null
+	 */
+	public AbstractMorph getHoverMorph()
+	{
+		return this.hoverMorph;
+	}
+
 	public boolean noFilter()
 	{
 		return this.filter.isEmpty() && !this.favorite;
@@ -110,36 +135,111 @@ public class GuiMorphSection extends GuiElement
 			return true;
 		}
 
-		return morph.name.toLowerCase().contains(this.filter) || morph.getDisplayName().toLowerCase().contains(this.filter);
+		return this.index.matches(morph, this.filter, null);
 	}
 
-	public void calculateXY(GuiMorphs morphs)
+	/**
+	 * Get morphs of given category which match current filter. The result
+	 * is computed once per filter change, and shouldn't be modified.
+	 */
+	public List<AbstractMorph> getMorphs(MorphCategory category)
 	{
-		int j = 0;
+		int index = this.section.categories.indexOf(category);
 
-		for (AbstractMorph morph : this.category.getMorphs())
+		if (index < 0)
 		{
-			if (morph == this.morph)
+			BitSet candidates = null;
+
+			if (!this.noFilter() && !this.favorite)
 			{
-				int row = this.getPerRow();
+				this.indexMorphs(category);
+				candidates = this.index.getCandidates(this.filter);
+			}
+
+			return this.search(category, candidates);
+		}
+
+		return this.getLayout().morphs.get(index);
+	}
+
+	/**
+	 * Make sure that all morphs of given category are indexed, so they
+	 * could be found among search candidates
+	 */
+	protected void indexMorphs(MorphCategory category)
+	{
+		for (AbstractMorph morph : category.getMorphs())
+		{
+			this.index.index(morph);
+		}
+	}
+
+	/**
+	 * Forget the search index, it should be called when morphs of this
+	 * section's categories were replaced
+	 */
+	public void refresh()
+	{
+		this.index.clear();
+	}
+
+	/**
+	 * Collect morphs of given category which match current filter
+	 */
+	protected List<AbstractMorph> search(MorphCategory category, BitSet candidates)
+	{
+		if (this.noFilter())
+		{
+			return category.getMorphs();
+		}
 
-				morphs.x = j % row;
-				morphs.y = j / row;
+		List<AbstractMorph> morphs = new ArrayList<AbstractMorph>();
 
-				return;
+		for (AbstractMorph morph : category.getMorphs())
+		{
+			if (this.favorite ? morph.favorite : this.index.matches(morph, this.filter, candidates))
+			{
+				morphs.add(morph);
 			}
+		}
+
+		return morphs;
+	}
+
+	public void calculateXY(GuiMorphs morphs)
+	{
+		int j = indexOf(this.getMorphs(this.category), this.morph);
+
+		if (j < 0)
+		{
+			/* Selected morph is filtered out, so count matching morphs before it */
+			j = 0;
 
-			if (this.isMatching(morph))
+			for (AbstractMorph morph : this.category.getMorphs())
 			{
-				j ++;
+				if (morph == this.morph)
+				{
+					break;
+				}
+
+				if (this.isMatching(morph))
+				{
+					j ++;
+				}
 			}
 		}
+
+		int row = this.getPerRow();
+
+		morphs.x = j % row;
+		morphs.y = j / row;
 	}
 
 	public AbstractMorph getMorphAt(GuiMorphs morphs)
 	{
+		List<AbstractMorph> list = this.getMorphs(this.category);
 		int row = this.getPerRow();
-		int size = this.category.getMorphs().size();
+		int size = list.size();
 
 		/* Shortcuts */
 		if (morphs.y < 0 || size == 0)
@@ -152,30 +252,16 @@ public class GuiMorphSection extends GuiElement
 
 			if (i >= size)
 			{
-				return this.category.getMorphs().get(size - 1);
+				return list.get(size - 1);
 			}
 		}
 
-		/* Find the actual morph */
-		int j = 0;
-
 		if (morphs.x < 0) morphs.x = row - 1;
 		if (morphs.x > row - 1) morphs.x = 0;
 
-		for (AbstractMorph morph : this.category.getMorphs())
-		{
-			if (this.isMatching(morph))
-			{
-				if (j % row == morphs.x && j / row == morphs.y)
-				{
-					return morph;
-				}
-
-				j ++;
-			}
-		}
+		int i = morphs.x + morphs.y * row;
 
-		return null;
+		return i < size ? list.get(i) : null;
 	}
 
 	public int getY(AbstractMorph selected)
@@ -185,65 +271,48 @@ public class GuiMorphSection extends GuiElement
 			return 0;
 		}
 
-		int y = HEADER_HEIGHT;
-		int row = this.getPerRow();
+		Layout layout = this.getLayout();
 
-		for (MorphCategory category : this.section.categories)
+		for (int i = 0; i < layout.ys.length; i ++)
 		{
-			int count = this.getMorphsSize(category);
-
-			if (category.isHidden() || (count == 0 && !this.noFilter()))
+			if (layout.ys[i] < 0)
 			{
 				continue;
 			}
 
-			y += CATEGORY_HEIGHT + 5;
+			int index = indexOf(layout.morphs.get(i), selected);
 
-			for (int i = 0, j = 0; i < category.getMorphs().size(); i ++)
+			if (index >= 0)
 			{
-				AbstractMorph morph = category.getMorphs().get(i);
-
-				if (!this.isMatching(morph))
-				{
-					continue;
-				}
-
-				if (j != 0 && j % row == 0)
-				{
-					y += this.cellHeight;
-				}
-
-				if (morph == selected)
-				{
-					return y;
-				}
-
-				j ++;
+				return layout.ys[i] + CATEGORY_HEIGHT + 5 + index / layout.row * this.cellHeight;
 			}
-
-			y += this.cellHeight + 5;
 		}
 
 		return -1;
 	}
 
-	/* Calculation methods */
-
-	public int getMorphsSize(MorphCategory category)
+	/**
+	 * Find the index of exactly given morph (morphs' equals compares
+	 * their data)
+	 */
+	private static int indexOf(List<AbstractMorph> morphs, AbstractMorph morph)
 	{
-		if (this.noFilter())
+		for (int i = 0, c = morphs.size(); i < c; i ++)
 		{
-			return category.getMorphs().size();
+			if (morphs.get(i) == morph)
+			{
+				return i;
+			}
 		}
 
-		int count = 0;
+		return -1;
+	}
 
-		for (AbstractMorph morph : category.getMorphs())
-		{
-			count += this.isMatching(morph) ? 1 : 0;
-		}
+	/* Calculation methods */
 
-		return count;
+	public int getMorphsSize(MorphCategory category)
+	{
+		return this.getMorphs(category).size();
 	}
 
 	public int getPerRow()
@@ -277,61 +346,30 @@ public class GuiMorphSection extends GuiElement
 				return true;
 			}
 
+			Layout layout = this.getLayout();
+			int row = layout.row;
 			int x = context.mouseX - this.area.x;
-			int y = context.mouseY - this.area.y - HEADER_HEIGHT;
-			int row = this.getPerRow();
+			int ix = (int) (x / (this.area.w / (float) row));
 
-			category:
-			for (MorphCategory category : this.section.categories)
+			for (int i = 0; i < layout.ys.length; i ++)
 			{
-				int count = this.getMorphsSize(category);
-
-				if (category.isHidden() || (count == 0 && !this.noFilter()))
+				if (layout.ys[i] < 0)
 				{
 					continue;
 				}
 
-				y -= CATEGORY_HEIGHT + 5;
-
-				int ix = (int) (x / (this.area.w / (float) row));
-				int iy = y / this.cellHeight;
-				int i = ix + (y < 0 ? -1 : iy) * row;
+				List<AbstractMorph> morphs = layout.morphs.get(i);
+				int y = context.mouseY - this.area.y - layout.ys[i] - CATEGORY_HEIGHT - 5;
+				int index = ix + (y < 0 ? -1 : y / this.cellHeight) * row;
 
-				if (i >= 0 && i < count)
+				if (index >= 0 && index < morphs.size())
 				{
-					int real = category.getMorphs().size();
-
-					if (count == real)
-					{
-						this.pick(category.getMorphs().get(i), category);
-
-						result = true;
-
-						break;
-					}
-					else
-					{
-						for (int j = 0, k = -1; j < real; j ++)
-						{
-							AbstractMorph morph = category.getMorphs().get(j);
-
-							if (this.isMatching(morph))
-							{
-								k ++;
-							}
-
-							if (i == k)
-							{
-								this.pick(morph, category);
-
-								result = true;
-								break category;
-							}
-						}
-					}
-				}
+					this.pick(morphs.get(index), this.section.categories.get(i));
+
+					result = true;
 
-				y -= this.getCategoryHeight(count) + 5;
+					break;
+				}
 			}
 
 			if (!result)
@@ -376,6 +414,8 @@ public class GuiMorphSection extends GuiElement
 	@Override
 	public void draw(GuiContext context)
 	{
+		this.section.populate();
+
 		int y = this.drawMorphs(context) + (this.last ? 30 : 0);
 
 		if (this.area.h != y)
@@ -388,8 +428,24 @@ public class GuiMorphSection extends GuiElement
 		super.draw(context);
 	}
 
+	/**
+	 * Get cached layout of categories, rebuilding it if it's outdated
+	 */
+	protected Layout getLayout()
+	{
+		if (this.layout.isOutdated(this))
+		{
+			this.layout.rebuild(this);
+		}
+
+		return this.layout;
+	}
+
 	/**
 	 * Draw morphs and return the final height
+	 *
+	 * Only the cells which are inside of the scroll area's viewport are
+	 * getting drawn, all the positions are taken from the cached layout.
 	 */
 	protected int drawMorphs(GuiContext context)
 	{
@@ -404,81 +460,99 @@ public class GuiMorphSection extends GuiElement
 		this.font.drawStringWithShadow(this.section.getTitle(), this.area.x + 7, this.area.y + 10 - this.font.FONT_HEIGHT / 2, 0xffffff);
 		(this.section.hidden ? Icons.MOVE_DOWN : Icons.MOVE_UP).render(this.area.ex() - 18 - 3, this.area.y + 10 + (this.section.hidden ? 1 : -1), 0, 0.5F);
 
-		/* Draw categories */
-		int y = HEADER_HEIGHT;
-
 		this.hoverMorph = null;
 		this.hoverCategory = null;
 
 		if (this.section.hidden)
 		{
-			return y;
+			return HEADER_HEIGHT;
 		}
 
-		int row = this.getPerRow();
+		Layout layout = this.getLayout();
+		int row = layout.row;
+
+		/* Figure out which part of this section is visible */
+		int top = Integer.MIN_VALUE;
+		int bottom = Integer.MAX_VALUE;
 
-		for (MorphCategory category : this.section.categories)
+		if (this.getParent() instanceof GuiScrollElement)
 		{
-			int count = this.getMorphsSize(category);
+			ScrollArea scroll = ((GuiScrollElement) this.getParent()).scroll;
+
+			top = scroll.y + scroll.scroll;
+			bottom = top + scroll.h;
+		}
+
+		for (int i = 0, c = this.section.categories.size(); i < c; i ++)
+		{
+			int y = layout.ys[i];
+
+			if (y < 0)
+			{
+				continue;
+			}
+
+			MorphCategory category = this.section.categories.get(i);
+			List<AbstractMorph> morphs = layout.morphs.get(i);
+			int count = morphs.size();
+			int h = CATEGORY_HEIGHT + this.getCategoryHeight(count);
+			int cy = this.area.y + y;
 
-			if (category.isHidden() || (count == 0 && !this.noFilter()))
+			if (cy > bottom)
+			{
+				break;
+			}
+			else if (cy + h + 10 < top)
 			{
 				continue;
 			}
 
-			GuiDraw.drawTextBackground(this.font, category.getTitle(), this.area.x + 7, this.area.y + y + 8 - this.font.FONT_HEIGHT / 2, 0xeeeeee, 0x88000000, 2);
+			GuiDraw.drawTextBackground(this.font, category.getTitle(), this.area.x + 7, cy + 8 - this.font.FONT_HEIGHT / 2, 0xeeeeee, 0x88000000, 2);
 
 			Area.SHARED.copy(this.area);
-			Area.SHARED.y = this.area.y + y;
-			Area.SHARED.h = CATEGORY_HEIGHT + this.getCategoryHeight(category);
+			Area.SHARED.y = cy;
+			Area.SHARED.h = h;
 
 			if (Area.SHARED.isInside(context.mouseX, context.mouseY))
 			{
 				this.hoverCategory = category;
 			}
 
-			float x = 0;
-			y += CATEGORY_HEIGHT + 5;
+			/* Visible range of rows */
+			int gy = cy + CATEGORY_HEIGHT + 5;
+			int first = Math.max(top - gy, 0) / this.cellHeight * row;
+			int last = bottom < gy ? 0 : Math.min((bottom - gy) / this.cellHeight * row + row, count);
 
-			for (int i = 0, j = 0; i < category.getMorphs().size(); i ++)
+			for (int j = first; j < last; j ++)
 			{
-				AbstractMorph morph = category.getMorphs().get(i);
-
-				if (!this.isMatching(morph))
-				{
-					continue;
-				}
-
-				if (j != 0 && j % row == 0)
-				{
-					x = 0;
-					y += this.cellHeight;
-				}
-
-				int mx = this.area.x + Math.round(x);
-				int my = this.area.y + y;
-
-				x += this.area.w / (float) row;
-				int w = Math.round(x - (mx - this.area.x));
-
-				Area.SHARED.set(mx, my, w, this.cellHeight);
+				this.drawCell(context, morphs.get(j), j, row, gy);
+			}
+		}
 
-				if (Area.SHARED.isInside(context.mouseX, context.mouseY))
-				{
-					this.hoverMorph = morph;
-				}
+		return layout.height;
+	}
 
-				GuiDraw.scissor(mx, my, w, this.cellHeight, context);
-				this.drawMorph(context, morph, mx, my, w, this.cellHeight, this.hoverMorph == morph, this.morph == morph);
-				GuiDraw.unscissor(context);
+	/**
+	 * Draw a cell of given morph at given index within category's grid
+	 */
+	private void drawCell(GuiContext context, AbstractMorph morph, int index, int row, int y)
+	{
+		float step = this.area.w / (float) row;
+		int x = Math.round(index % row * step);
+		int mx = this.area.x + x;
+		int my = y + index / row * this.cellHeight;
+		int w = Math.round((index % row + 1) * step - x);
 
-				j ++;
-			}
+		Area.SHARED.set(mx, my, w, this.cellHeight);
 
-			y += this.cellHeight + 5;
+		if (Area.SHARED.isInside(context.mouseX, context.mouseY))
+		{
+			this.hoverMorph = morph;
 		}
 
-		return y;
+		GuiDraw.scissor(mx, my, w, this.cellHeight, context);
+		this.drawMorph(context, morph, mx, my, w, this.cellHeight, this.hoverMorph == morph, this.morph == morph);
+		GuiDraw.unscissor(context);
 	}
 
 	/**
@@ -509,7 +583,10 @@ public class GuiMorphSection extends GuiElement
 			return;
 		}
 
-		if (!MorphUtils.renderOnScreen(morph, this.mc.player, x + w / 2, y + (int) (h * 0.7F), w * 0.4F, 1))
+		/* Only hovered and selected morphs are rendered live, the rest use cached thumbnails */
+		boolean thumbnail = !hover && !selected && MorphThumbnails.INSTANCE.draw(morph, this.mc.player, x, y, w, h);
+
+		if (!thumbnail && !MorphUtils.renderOnScreen(morph, this.mc.player, x + w / 2, y + (int) (h * 0.7F), w * 0.4F, 1))
 		{
 			return;
 		}
@@ -537,4 +614,125 @@ public class GuiMorphSection extends GuiElement
 			GuiDraw.drawOutlinedIcon(Icons.FAVORITE, x + 2, y + 2, 0xffffffff);
 		}
 	}
+
+	/**
+	 * Layout of categories
+	 *
+	 * Stores the morphs which match the filter and vertical offset (relative
+	 * to the section) of every category, along with everything that was used
+	 * to compute them, so it could tell whether it's outdated.
+	 */
+	protected static class Layout
+	{
+		public int row;
+		public String filter;
+		public boolean favorite;
+
+		/**
+		 * Categories and their modification counts at the moment of the
+		 * last rebuild
+		 */
+		public MorphCategory[] categories = new MorphCategory[0];
+		public int[] modCounts = new int[0];
+
+		/**
+		 * Morphs which match the filter per category
+		 */
+		public List<List<AbstractMorph>> morphs = new ArrayList<List<AbstractMorph>>();
+
+		/**
+		 * Offset of every category, -1 for skipped categories
+		 */
+		public int[] ys = new int[0];
+
+		public int height;
+
+		public boolean isOutdated(GuiMorphSection section)
+		{
+			return this.row != section.getPerRow() || !section.filter.equals(this.filter) || this.isChanged(section);
+		}
+
+		public void rebuild(GuiMorphSection section)
+		{
+			List<MorphCategory> categories = section.section.categories;
+			int c = categories.size();
+			int y = HEADER_HEIGHT;
+
+			if (this.isChanged(section))
+			{
+				/* Categories were refreshed, so drop index entries of
+				 * morphs which may be gone */
+				section.refresh();
+			}
+
+			this.row = section.getPerRow();
+			this.filter = section.filter;
+			this.favorite = section.favorite;
+			this.categories = new MorphCategory[c];
+			this.modCounts = new int[c];
+			this.morphs.clear();
+			this.ys = new int[c];
+
+			BitSet candidates = null;
+
+			if (!section.noFilter() && !section.favorite)
+			{
+				/* Make sure new morphs are indexed before looking up candidates */
+				for (MorphCategory category : categories)
+				{
+					section.indexMorphs(category);
+				}
+
+				candidates = section.index.getCandidates(section.filter);
+			}
+
+			for (int i = 0; i < c; i ++)
+			{
+				MorphCategory category = categories.get(i);
+				List<AbstractMorph> morphs = section.search(category, candidates);
+				int count = morphs.size();
+
+				this.categories[i] = category;
+				this.modCounts[i] = category.getModCount();
+				this.morphs.add(morphs);
+				this.ys[i] = -1;
+
+				if (category.isHidden() || (count == 0 && !section.noFilter()))
+				{
+					continue;
+				}
+
+				this.ys[i] = y;
+				y += CATEGORY_HEIGHT + 5 + section.getCategoryHeight(count) + 5;
+			}
+
+			this.height = y;
+		}
+
+		/**
+		 * Whether the contents of categories have changed since the last
+		 * rebuild
+		 */
+		private boolean isChanged(GuiMorphSection section)
+		{
+			List<MorphCategory> categories = section.section.categories;
+
+			if (this.favorite != section.favorite || this.categories.length != categories.size())
+			{
+				return true;
+			}
+
+			for (int i = 0; i < this.categories.length; i ++)
+			{
+				MorphCategory category = categories.get(i);
+
+				if (this.categories[i] != category || this.modCounts[i] != category.getModCount())
+				{
+					return true;
+				}
+			}
+
+			return false;
+		}
+	}
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import mchorse.mclib.client.gui.framework.elements.modals.GuiPromptModal;
 import mchorse.mclib.client.gui.framework.elements.utils.GuiContext;
 import mchorse.mclib.client.gui.utils.Icons;
 import mchorse.mclib.client.gui.utils.keys.IKey;
+import mchorse.metamorph.Metamorph;
 import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.creative.categories.AcquiredCategory;
 import mchorse.metamorph.api.creative.categories.MorphCategory;
@@ -45,6 +46,7 @@ public class GuiUserSection extends GuiMorphSection
 		}
 
 		contextMenu.action(Icons.ADD, IKey.lang("metamorph.gui.creative.context.add_category"), () -> section.add(new UserCategory(this.section, "User category")));
+		contextMenu.action(Icons.DOWNLOAD, IKey.lang("metamorph.gui.creative.context.export_categories"), () -> ((UserSection) this.section).exportJson(Metamorph.proxy.list));
 
 		if (this.hoverCategory instanceof UserCategory)
 		{
@@ -60,6 +62,7 @@ public class GuiUserSection extends GuiMorphSection
 			contextMenu.action(Icons.REMOVE, IKey.lang("metamorph.gui.creative.context.clear_category"), () ->
 			{
 				category.clear();
+				this.refresh();
 				this.parent.setSelected(null);
 			});
 		}
@@ -78,7 +81,11 @@ public class GuiUserSection extends GuiMorphSection
 			MorphCategory category = this.hoverCategory;
 			AbstractMorph morph = this.hoverMorph;
 
-			contextMenu.action(Icons.CLOSE, IKey.lang("metamorph.gui.creative.context.remove_morph"), () -> category.remove(morph));
+			contextMenu.action(Icons.CLOSE, IKey.lang("metamorph.gui.creative.context.remove_morph"), () ->
+			{
+				category.remove(morph);
+				this.index.remove(morph);
+			});
 		}
 
 		return contextMenu;
@@ -0,0 +1,204 @@
+package mchorse.metamorph.client.gui.creative;
+
+import mchorse.metamorph.api.morphs.AbstractMorph;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Morph search index
+ *
+ * Keeps lower cased names of morphs along with a trigram index, so
+ * searching the morph picker doesn't have to lower case and scan names of
+ * every morph. Morphs are indexed lazily, and get reindexed when their
+ * display name changes. Entries of removed morphs should be removed (or
+ * the whole index cleared when categories are refreshed), otherwise they
+ * would stay in the index.
+ */
+public class MorphSearchIndex
+{
+	/**
+	 * Index entries by morph (by identity, because morphs with equal data
+	 * may be present in several categories)
+	 */
+	private Map<AbstractMorph, Entry> entries = new IdentityHashMap<AbstractMorph, Entry>();
+
+	/**
+	 * Morphs IDs by trigram
+	 */
+	private Map<String, BitSet> trigrams = new HashMap<String, BitSet>();
+
+	/**
+	 * ID of the next indexed morph
+	 */
+	private int nextId;
+
+	/**
+	 * Make sure that given morph is indexed and its index entry is up to date
+	 */
+	public Entry index(AbstractMorph morph)
+	{
+		Entry entry = this.entries.get(morph);
+
+		if (entry != null && Objects.equals(entry.displayName, morph.displayName))
+		{
+			return entry;
+		}
+
+		if (entry != null)
+		{
+			this.unindex(entry);
+		}
+
+		String text = (morph.name + "\n" + morph.getDisplayName()).toLowerCase(Locale.ROOT);
+
+		entry = new Entry(this.nextId ++, text, morph.displayName);
+
+		for (String trigram : getTrigrams(text))
+		{
+			BitSet set = this.trigrams.get(trigram);
+
+			if (set == null)
+			{
+				set = new BitSet();
+				this.trigrams.put(trigram, set);
+			}
+
+			set.set(entry.id);
+		}
+
+		this.entries.put(morph, entry);
+
+		return entry;
+	}
+
+	/**
+	 * Remove given morph from the index
+	 */
+	public void remove(AbstractMorph morph)
+	{
+		Entry entry = this.entries.remove(morph);
+
+		if (entry != null)
+		{
+			this.unindex(entry);
+		}
+	}
+
+	/**
+	 * Remove all morphs from the index
+	 */
+	public void clear()
+	{
+		this.entries.clear();
+		this.trigrams.clear();
+		this.nextId = 0;
+	}
+
+	private void unindex(Entry entry)
+	{
+		for (String trigram : getTrigrams(entry.text))
+		{
+			BitSet set = this.trigrams.get(trigram);
+
+			set.clear(entry.id);
+
+			if (set.isEmpty())
+			{
+				this.trigrams.remove(trigram);
+			}
+		}
+	}
+
+	/**
+	 * Get IDs of morphs which may match given (lower cased) filter. Returns
+	 * null if the filter is too short to narrow the search down.
+	 */
+	public BitSet getCandidates(String filter)
+	{
+		if (filter.length() < 3)
+		{
+			return null;
+		}
+
+		BitSet candidates = null;
+
+		for (String trigram : getTrigrams(filter))
+		{
+			BitSet set = this.trigrams.get(trigram);
+
+			if (set == null)
+			{
+				return new BitSet();
+			}
+
+			if (candidates == null)
+			{
+				candidates = (BitSet) set.clone();
+			}
+			else
+			{
+				candidates.and(set);
+			}
+		}
+
+		return candidates;
+	}
+
+	/**
+	 * Check whether given morph matches given (lower cased) filter. Given
+	 * candidates (which can be null) are used to reject morphs without
+	 * comparing strings.
+	 */
+	public boolean matches(AbstractMorph morph, String filter, BitSet candidates)
+	{
+		Entry entry = this.index(morph);
+
+		if (candidates != null && !candidates.get(entry.id))
+		{
+			return false;
+		}
+
+		return entry.text.contains(filter);
+	}
+
+	private static List<String> getTrigrams(String text)
+	{
+		List<String> trigrams = new ArrayList<String>();
+
+		for (int i = 0; i + 3 <= text.length(); i ++)
+		{
+			trigrams.add(text.substring(i, i + 3));
+		}
+
+		return trigrams;
+	}
+
+	public static class Entry
+	{
+		public final int id;
+
+		/**
+		 * Lower cased ID and display name of the morph
+		 */
+		public final String text;
+
+		/**
+		 * Display name of the morph at the moment it was indexed
+		 */
+		public final String displayName;
+
+		public Entry(int id, String text, String displayName)
+		{
+			this.id = id;
+			this.text = text;
+			this.displayName = displayName;
+		}
+	}
+}
@@ -117,7 +117,7 @@ public class GuiSettingsPanel extends GuiMorphPanel<AbstractMorph, GuiAbstractMo
 	{
 		if (!this.morph.hasCustomSettings())
 		{
-			MorphSettings old = this.morph.settings;
+			MorphSettings old = this.morph.getSettings();
 
 			this.morph.settings = new MorphSettings();
 			this.morph.settings.copy(old);
@@ -168,12 +168,12 @@ public class GuiSettingsPanel extends GuiMorphPanel<AbstractMorph, GuiAbstractMo
 		this.updateNBT();
 
 		this.displayName.setText(morph.displayName);
-		this.health.setValue(morph.settings.health);
-		this.speed.setValue(morph.settings.speed);
+		this.health.setValue(morph.getSettings().health);
+		this.speed.setValue(morph.getSettings().speed);
 
 		List<String> abilities = new ArrayList<String>();
 
-		for (IAbility ability : morph.settings.abilities)
+		for (IAbility ability : morph.getSettings().abilities)
 		{
 			String key = MorphSettings.getKey(MorphManager.INSTANCE.abilities, ability);
 
@@ -188,8 +188,8 @@ public class GuiSettingsPanel extends GuiMorphPanel<AbstractMorph, GuiAbstractMo
 		this.action.sort();
 
 		this.abilities.setCurrent(abilities);
-		this.attack.setCurrent(MorphSettings.getKey(MorphManager.INSTANCE.attacks, morph.settings.attack));
-		this.action.setCurrent(MorphSettings.getKey(MorphManager.INSTANCE.actions, morph.settings.action));
+		this.attack.setCurrent(MorphSettings.getKey(MorphManager.INSTANCE.attacks, morph.getSettings().attack));
+		this.action.setCurrent(MorphSettings.getKey(MorphManager.INSTANCE.actions, morph.getSettings().action));
 	}
 
 	@Override
@@ -15,12 +15,14 @@ import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.client.MorphPrediction;
+import mchorse.metamorph.client.MorphPreloader;
+import mchorse.metamorph.client.gui.creative.GuiMorphSection;
 import mchorse.metamorph.network.Dispatcher;
 import mchorse.metamorph.network.common.creative.PacketMorph;
 import mchorse.metamorph.network.common.survival.PacketFavorite;
 import mchorse.metamorph.network.common.survival.PacketKeybind;
 import mchorse.metamorph.network.common.survival.PacketRemoveMorph;
-import mchorse.metamorph.network.common.survival.PacketSelectMorph;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Gui;
 import net.minecraft.client.resources.I18n;
@@ -149,7 +151,7 @@ public class GuiSurvivalScreen extends GuiBase
         {
             if (this.morphs.isAcquiredSelected())
             {
-                Dispatcher.sendToServer(new PacketSelectMorph(this.indexOf(morph)));
+                MorphPrediction.INSTANCE.select(this.mc.player, this.getId(morph), morph);
             }
             else
             {
@@ -171,7 +173,7 @@ public class GuiSurvivalScreen extends GuiBase
         {
             if (this.morphs.isAcquiredSelected())
             {
-                Dispatcher.sendToServer(new PacketRemoveMorph(this.indexOf(morph)));
+                Dispatcher.sendToServer(new PacketRemoveMorph(this.getId(morph)));
             }
             else
             {
@@ -208,7 +210,7 @@ public class GuiSurvivalScreen extends GuiBase
 
             if (this.morphs.isAcquiredSelected())
             {
-                Dispatcher.sendToServer(new PacketKeybind(this.indexOf(morph), keybind));
+                Dispatcher.sendToServer(new PacketKeybind(this.getId(morph), keybind));
             }
             else
             {
@@ -228,7 +230,7 @@ public class GuiSurvivalScreen extends GuiBase
         {
             if (this.morphs.isAcquiredSelected())
             {
-                Dispatcher.sendToServer(new PacketFavorite(this.indexOf(morph)));
+                Dispatcher.sendToServer(new PacketFavorite(this.getId(morph)));
             }
             else
             {
@@ -238,9 +240,11 @@ public class GuiSurvivalScreen extends GuiBase
         }
     }
 
-    private int indexOf(AbstractMorph morph)
+    private int getId(AbstractMorph morph)
     {
-        return this.morphs.acquired.getMorphs().indexOf(morph);
+        IMorphing morphing = Morphing.get(this.mc.player);
+
+        return morphing == null ? -1 : morphing.getAcquiredId(morph);
     }
 
     @Override
@@ -248,7 +252,7 @@ public class GuiSurvivalScreen extends GuiBase
     {
         if (keyCode == ClientProxy.keys.keyDemorph.getKeyCode())
         {
-            Dispatcher.sendToServer(new PacketSelectMorph(-1));
+            MorphPrediction.INSTANCE.select(this.mc.player, -1, null);
         }
         else if (MorphManager.INSTANCE.list.keyTyped(this.mc.player, keyCode))
         {
@@ -265,5 +269,14 @@ public class GuiSurvivalScreen extends GuiBase
         this.context.font.drawStringWithShadow(I18n.format("metamorph.gui.survival.title"), this.root.area.x + 6, this.root.area.y + 10 - this.context.font.FONT_HEIGHT / 2, 0xffffff);
 
         super.drawScreen(mouseX, mouseY, partialTicks);
+
+        /* Hovered morph is likely to be selected */
+        for (GuiMorphSection section : this.morphs.sections)
+        {
+            if (section.getHoverMorph() != null)
+            {
+                MorphPreloader.INSTANCE.prioritize(section.getHoverMorph());
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,434 @@
+package mchorse.metamorph.client.render;
+
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.api.MorphUtils;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.entity.EntityMorph;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.ScaledResolution;
+import net.minecraft.client.renderer.BufferBuilder;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.OpenGlHelper;
+import net.minecraft.client.renderer.Tessellator;
+import net.minecraft.client.renderer.vertex.DefaultVertexFormats;
+import net.minecraft.client.resources.IReloadableResourceManager;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.client.resources.IResourceManagerReloadListener;
+import net.minecraft.client.shader.Framebuffer;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.opengl.GL11;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Morph thumbnails
+ *
+ * Renders morphs for morph pickers once into texture atlases (one
+ * framebuffer per cell size, at most {@link #MAX_ATLASES} of them), so the
+ * pickers could draw a textured quad per cell instead of rendering every
+ * morph's model every frame. Thumbnails are shared by all morphs with the
+ * same data, least recently used thumbnails get replaced when an atlas is
+ * full, and least recently used atlases get deleted when there are too
+ * many cell sizes.
+ *
+ * Thumbnails get re-rendered once in a while (a few of them per second),
+ * so morphs whose look changes after they were rendered (downloaded
+ * skins, etc.) would get up to date eventually.
+ */
+@SideOnly(Side.CLIENT)
+public class MorphThumbnails implements IResourceManagerReloadListener
+{
+    public static final MorphThumbnails INSTANCE = new MorphThumbnails();
+
+    /**
+     * Size of atlas textures in pixels
+     */
+    public static final int ATLAS_SIZE = 2048;
+
+    /**
+     * Thumbnails which were drawn within this time (in ms) can't be
+     * replaced, cells are rendered directly if there is no room left
+     */
+    public static final long KEEP = 1000;
+
+    /**
+     * Age (in ms) after which thumbnails get re-rendered
+     */
+    public static final long REFRESH = 10000;
+
+    /**
+     * Minimum time (in ms) between re-rendering of two outdated thumbnails
+     */
+    public static final long REFRESH_INTERVAL = 50;
+
+    /**
+     * Maximum amount of atlases (every one of them takes 16 MB of VRAM)
+     */
+    public static final int MAX_ATLASES = 2;
+
+    /**
+     * Atlases by cell size in pixels, from least to most recently drawn
+     */
+    private Map<Long, Atlas> atlases = new LinkedHashMap<Long, Atlas>(4, 0.75F, true);
+
+    /**
+     * Cached fingerprints of morphs (computing them requires serializing
+     * morphs to NBT)
+     */
+    private Map<AbstractMorph, Integer> fingerprints = new WeakHashMap<AbstractMorph, Integer>();
+
+    private long lastRefresh;
+    private boolean registered;
+
+    /**
+     * Draw a thumbnail of given morph in given cell (in GUI coordinates),
+     * rendering it first if needed. Returns false, if the thumbnail can't
+     * be used, so the morph should be rendered directly.
+     */
+    public boolean draw(AbstractMorph morph, EntityPlayer player, int x, int y, int w, int h)
+    {
+        if (!Metamorph.morphThumbnails.get() || !OpenGlHelper.isFramebufferEnabled() || morph == null || morph.errorRendering || w <= 0 || h <= 0)
+        {
+            return false;
+        }
+
+        Minecraft mc = Minecraft.getMinecraft();
+        int scale = new ScaledResolution(mc).getScaleFactor();
+        int pw = w * scale;
+        int ph = h * scale;
+
+        if (pw > ATLAS_SIZE || ph > ATLAS_SIZE)
+        {
+            return false;
+        }
+
+        this.register();
+
+        long size = (long) pw << 32 | ph;
+        long now = Minecraft.getSystemTime();
+        Atlas atlas = this.atlases.get(size);
+
+        if (atlas == null)
+        {
+            if (!this.evictAtlas(now))
+            {
+                return false;
+            }
+
+            atlas = new Atlas(pw, ph);
+            this.atlases.put(size, atlas);
+        }
+
+        atlas.used = now;
+
+        Integer fingerprint = this.fingerprints.get(morph);
+
+        if (fingerprint == null)
+        {
+            fingerprint = EntityMorph.fingerprint(morph);
+            this.fingerprints.put(morph, fingerprint);
+        }
+
+        Slot slot = atlas.slots.get(fingerprint);
+
+        if (slot == null)
+        {
+            slot = atlas.allocate(fingerprint, morph, now);
+
+            if (slot == null)
+            {
+                return false;
+            }
+        }
+        else if (!slot.morph.equals(morph))
+        {
+            /* Different morph with the same fingerprint, take the slot
+             * over unless the other morph is still being drawn */
+            if (now - slot.used < KEEP)
+            {
+                return false;
+            }
+
+            slot.morph = morph.copy();
+            slot.rendered = false;
+        }
+        else if (now - slot.time > REFRESH && now - this.lastRefresh > REFRESH_INTERVAL)
+        {
+            this.lastRefresh = now;
+            slot.rendered = false;
+        }
+
+        if (!slot.rendered)
+        {
+            slot.time = now;
+            slot.rendered = true;
+
+            if (!this.render(atlas, slot, morph, player, w, h))
+            {
+                atlas.slots.remove(fingerprint);
+                atlas.free.add(slot.index);
+
+                return false;
+            }
+        }
+
+        slot.used = now;
+        this.blit(atlas, slot, x, y, w, h);
+
+        return true;
+    }
+
+    /**
+     * Make room for a new atlas by deleting the least recently drawn one,
+     * if there are too many. Returns false, if all atlases are in use.
+     */
+    private boolean evictAtlas(long now)
+    {
+        if (this.atlases.size() < MAX_ATLASES)
+        {
+            return true;
+        }
+
+        Iterator<Atlas> it = this.atlases.values().iterator();
+        Atlas oldest = it.next();
+
+        if (now - oldest.used < KEEP)
+        {
+            return false;
+        }
+
+        oldest.framebuffer.deleteFramebuffer();
+        it.remove();
+
+        return true;
+    }
+
+    /**
+     * Forget the thumbnail of given morph, it should be called when the
+     * morph was edited
+     */
+    public void invalidate(AbstractMorph morph)
+    {
+        this.fingerprints.remove(morph);
+    }
+
+    /**
+     * Render given morph into atlas' slot
+     */
+    private boolean render(Atlas atlas, Slot slot, AbstractMorph morph, EntityPlayer player, int w, int h)
+    {
+        Minecraft mc = Minecraft.getMinecraft();
+        int px = atlas.getX(slot.index);
+        int py = atlas.getY(slot.index);
+
+        GL11.glPushAttrib(GL11.GL_VIEWPORT_BIT | GL11.GL_SCISSOR_BIT);
+        atlas.framebuffer.bindFramebuffer(false);
+        GlStateManager.viewport(px, py, atlas.pw, atlas.ph);
+        GL11.glEnable(GL11.GL_SCISSOR_TEST);
+        GL11.glScissor(px, py, atlas.pw, atlas.ph);
+        GlStateManager.clearColor(0, 0, 0, 0);
+        GlStateManager.clear(GL11.GL_COLOR_BUFFER_BIT | GL11.GL_DEPTH_BUFFER_BIT);
+
+        /* Same projection as GUI's, but with cell's size */
+        GlStateManager.matrixMode(GL11.GL_PROJECTION);
+        GlStateManager.pushMatrix();
+        GlStateManager.loadIdentity();
+        GlStateManager.ortho(0, w, h, 0, 1000, 3000);
+        GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+        GlStateManager.pushMatrix();
+        GlStateManager.loadIdentity();
+        GlStateManager.translate(0, 0, -2000);
+
+        boolean result = MorphUtils.renderOnScreen(morph, player, w / 2, (int) (h * 0.7F), w * 0.4F, 1);
+
+        GlStateManager.popMatrix();
+        GlStateManager.matrixMode(GL11.GL_PROJECTION);
+        GlStateManager.popMatrix();
+        GlStateManager.matrixMode(GL11.GL_MODELVIEW);
+
+        mc.getFramebuffer().bindFramebuffer(false);
+        GL11.glPopAttrib();
+
+        return result;
+    }
+
+    /**
+     * Draw atlas' slot in given cell
+     */
+    private void blit(Atlas atlas, Slot slot, int x, int y, int w, int h)
+    {
+        float tw = atlas.framebuffer.framebufferTextureWidth;
+        float th = atlas.framebuffer.framebufferTextureHeight;
+        int px = atlas.getX(slot.index);
+        int py = atlas.getY(slot.index);
+
+        float u1 = px / tw;
+        float u2 = (px + atlas.pw) / tw;
+        /* Framebuffer's origin is at the bottom */
+        float v1 = (py + atlas.ph) / th;
+        float v2 = py / th;
+
+        atlas.framebuffer.bindFramebufferTexture();
+        GlStateManager.enableTexture2D();
+        GlStateManager.enableBlend();
+        GlStateManager.blendFunc(GL11.GL_ONE, GL11.GL_ONE_MINUS_SRC_ALPHA);
+        GlStateManager.color(1, 1, 1, 1);
+
+        BufferBuilder buffer = Tessellator.getInstance().getBuffer();
+
+        buffer.begin(GL11.GL_QUADS, DefaultVertexFormats.POSITION_TEX);
+        buffer.pos(x, y + h, 0).tex(u1, v2).endVertex();
+        buffer.pos(x + w, y + h, 0).tex(u2, v2).endVertex();
+        buffer.pos(x + w, y, 0).tex(u2, v1).endVertex();
+        buffer.pos(x, y, 0).tex(u1, v1).endVertex();
+        Tessellator.getInstance().draw();
+
+        atlas.framebuffer.unbindFramebufferTexture();
+        GlStateManager.blendFunc(GL11.GL_SRC_ALPHA, GL11.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    private void register()
+    {
+        if (!this.registered && Minecraft.getMinecraft().getResourceManager() instanceof IReloadableResourceManager)
+        {
+            ((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(this);
+            this.registered = true;
+        }
+    }
+
+    /**
+     * Delete all atlases
+     */
+    public void clear()
+    {
+        for (Atlas atlas : this.atlases.values())
+        {
+            atlas.framebuffer.deleteFramebuffer();
+        }
+
+        this.atlases.clear();
+        this.fingerprints.clear();
+    }
+
+    @Override
+    public void onResourceManagerReload(IResourceManager resourceManager)
+    {
+        this.clear();
+    }
+
+    /**
+     * Texture atlas of thumbnails with the same size
+     */
+    private static class Atlas
+    {
+        public final int pw;
+        public final int ph;
+        public final int columns;
+        public final Framebuffer framebuffer;
+
+        /**
+         * When the atlas was drawn the last time
+         */
+        public long used;
+
+        /**
+         * Slots by fingerprint, from least to most recently drawn
+         */
+        public final Map<Integer, Slot> slots = new LinkedHashMap<Integer, Slot>(16, 0.75F, true);
+
+        /**
+         * Indices of slots which weren't used yet
+         */
+        public final Deque<Integer> free = new ArrayDeque<Integer>();
+
+        public Atlas(int pw, int ph)
+        {
+            this.pw = pw;
+            this.ph = ph;
+            this.columns = ATLAS_SIZE / pw;
+            this.framebuffer = new Framebuffer(ATLAS_SIZE, ATLAS_SIZE, true);
+            this.framebuffer.setFramebufferFilter(GL11.GL_NEAREST);
+
+            for (int i = 0, c = this.columns * (ATLAS_SIZE / ph); i < c; i ++)
+            {
+                this.free.add(i);
+            }
+        }
+
+        public int getX(int index)
+        {
+            return index % this.columns * this.pw;
+        }
+
+        public int getY(int index)
+        {
+            return index / this.columns * this.ph;
+        }
+
+        /**
+         * Allocate a slot for given morph, replacing the least recently
+         * drawn thumbnail if there are no free slots. Returns null if all
+         * thumbnails are in use.
+         */
+        public Slot allocate(int fingerprint, AbstractMorph morph, long now)
+        {
+            Integer index = this.free.poll();
+
+            if (index == null)
+            {
+                Iterator<Slot> it = this.slots.values().iterator();
+                Slot oldest = it.hasNext() ? it.next() : null;
+
+                if (oldest == null || now - oldest.used < KEEP)
+                {
+                    return null;
+                }
+
+                it.remove();
+                index = oldest.index;
+            }
+
+            Slot slot = new Slot(index, morph.copy());
+
+            this.slots.put(fingerprint, slot);
+
+            return slot;
+        }
+    }
+
+    private static class Slot
+    {
+        public final int index;
+
+        /**
+         * Copy of the morph which is rendered in this slot, fingerprints
+         * may collide, so it's compared on look up
+         */
+        public AbstractMorph morph;
+
+        /**
+         * When the thumbnail was rendered
+         */
+        public long time;
+
+        /**
+         * When the thumbnail was drawn the last time
+         */
+        public long used;
+
+        public boolean rendered;
+
+        public Slot(int index, AbstractMorph morph)
+        {
+            this.index = index;
+            this.morph = morph;
+        }
+    }
+}
@@ -1,25 +1,26 @@
 package mchorse.metamorph.commands;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
-import mchorse.metamorph.api.MorphManager;
-import mchorse.metamorph.api.MorphSettings;
-import mchorse.metamorph.api.MorphUtils;
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.api.ConfigWatcher;
+import mchorse.metamorph.network.ChunkedTransport;
 import mchorse.metamorph.network.Dispatcher;
-import mchorse.metamorph.network.common.PacketBlacklist;
-import mchorse.metamorph.network.common.PacketSettings;
+import mchorse.metamorph.network.NetworkStats;
+import mchorse.metamorph.util.LoadTest;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.command.CommandBase;
 import net.minecraft.command.CommandException;
 import net.minecraft.command.ICommandSender;
 import net.minecraft.command.WrongUsageException;
-import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.management.PlayerList;
 import net.minecraft.util.math.BlockPos;
-import net.minecraftforge.fml.common.FMLCommonHandler;
-import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraftforge.fml.relauncher.Side;
 
 /**
  * Command /metamorph
@@ -62,63 +63,190 @@ public class CommandMetamorph extends CommandBase
             {
                 this.reload(args[1]);
             }
+            else if (action.equals("stats"))
+            {
+                this.stats(sender, args.length >= 2 ? args[1] : "");
+            }
+            else if (action.equals("netstats"))
+            {
+                this.netstats(sender, args.length >= 2 ? args[1] : "");
+            }
+            else if (action.equals("loadtest") && args.length >= 2)
+            {
+                this.loadtest(server, sender, args);
+            }
         }
     }
 
     /**
-     * Reload something (blacklist or morph configuration) 
+     * Reload something (blacklist, morph configuration or remapper). Only
+     * changed entries are sent to players
      */
     private void reload(String string)
     {
-        /* Reload blacklist */
         if (string.equals("blacklist"))
         {
-            Set<String> blacklist = MorphUtils.reloadBlacklist();
-
-            MorphManager.INSTANCE.setActiveBlacklist(blacklist);
-            this.broadcastPacket(new PacketBlacklist(blacklist));
+            ConfigWatcher.INSTANCE.reload(ConfigWatcher.BLACKLIST);
         }
         else if (string.equals("morphs"))
         {
-            /* Reload morph config */
-            Map<String, MorphSettings> settings = MorphUtils.reloadMorphSettings();
-
-            MorphManager.INSTANCE.setActiveSettings(settings);
-            this.broadcastPacket(new PacketSettings(settings));
+            ConfigWatcher.INSTANCE.reload(ConfigWatcher.SETTINGS);
         }
         else if (string.equals("remapper"))
         {
-            /* Reload morph config */
-            Map<String, String> map = MorphUtils.reloadRemapper();
+            ConfigWatcher.INSTANCE.reload(ConfigWatcher.REMAP);
+        }
+    }
 
-            MorphManager.INSTANCE.setActiveMap(map);
+    /**
+     * Show profiler statistics of the server (or the client, which is 
+     * useful only in singleplayer), or reset them
+     */
+    private void stats(ICommandSender sender, String string)
+    {
+        if (string.equals("reset"))
+        {
+            MetamorphProfiler.SERVER.reset();
+            MetamorphProfiler.CLIENT.reset();
+            sender.sendMessage(new TextComponentTranslation("metamorph.stats.reset"));
+
+            return;
+        }
+
+        boolean client = string.equals("client");
+        MetamorphProfiler profiler = MetamorphProfiler.get(client);
+        List<MetamorphProfiler.Stats> stats = profiler.getStats();
+        long ticks = profiler.getTicks();
+
+        if (stats.isEmpty())
+        {
+            sender.sendMessage(new TextComponentTranslation("metamorph.stats.empty"));
+
+            return;
+        }
+
+        sender.sendMessage(new TextComponentTranslation("metamorph.stats.header", client ? "client" : "server", ticks, MetamorphProfiler.WINDOW));
+
+        for (MetamorphProfiler.Stats section : stats)
+        {
+            String line = String.format("%s: %d calls, %.3f ms/tick, p50 %.1f, p95 %.1f, p99 %.1f, max %.1f",
+                section.name, section.calls, ticks == 0 ? 0 : section.total / 1000000D / ticks,
+                section.p50 / 1000D, section.p95 / 1000D, section.p99 / 1000D, section.max / 1000D);
+
+            sender.sendMessage(new TextComponentString(line));
         }
     }
 
     /**
-     * Broadcast a packet to all players 
+     * Show network traffic statistics of the server (or the client, which 
+     * is useful only in singleplayer), or reset them
      */
-    private void broadcastPacket(IMessage packet)
+    private void netstats(ICommandSender sender, String string)
     {
-        PlayerList players = FMLCommonHandler.instance().getMinecraftServerInstance().getPlayerList();
+        if (string.equals("reset"))
+        {
+            NetworkStats.SERVER.reset();
+            NetworkStats.CLIENT.reset();
+            sender.sendMessage(new TextComponentTranslation("metamorph.netstats.reset"));
+
+            return;
+        }
+
+        boolean client = string.equals("client");
+        NetworkStats stats = NetworkStats.get(client ? Side.CLIENT : Side.SERVER);
+        Set<Class<?>> types = new HashSet<Class<?>>(stats.sent.keySet());
+
+        types.addAll(stats.received.keySet());
+
+        if (types.isEmpty())
+        {
+            sender.sendMessage(new TextComponentTranslation("metamorph.netstats.empty"));
+
+            return;
+        }
+
+        List<Class<?>> sorted = new ArrayList<Class<?>>(types);
+
+        sorted.sort((a, b) -> Long.compare(getBytes(stats, b), getBytes(stats, a)));
+        sender.sendMessage(new TextComponentTranslation("metamorph.netstats.header", client ? "client" : "server"));
+
+        for (Class<?> type : sorted)
+        {
+            sender.sendMessage(new TextComponentString(type.getSimpleName() + ": " + formatTraffic(stats.sent.get(type), stats.received.get(type))));
+        }
+
+        ChunkedTransport chunks = Dispatcher.CHUNKS;
 
-        for (String username : players.getOnlinePlayerNames())
+        sender.sendMessage(new TextComponentTranslation("metamorph.netstats.chunks", chunks.chunkedSends.get(), chunks.chunksSent.get(), chunks.bytesEncoded.get() / 1024, chunks.bytesSent.get() / 1024, chunks.droppedTransfers.get()));
+
+        if (!client && !stats.players.isEmpty())
         {
-            EntityPlayerMP player = players.getPlayerByUsername(username);
+            sender.sendMessage(new TextComponentTranslation("metamorph.netstats.players"));
 
-            if (player != null)
+            for (NetworkStats.PlayerCounter player : stats.getTopPlayers(10))
             {
-                Dispatcher.sendTo(packet, player);
+                sender.sendMessage(new TextComponentString(player.name + ": " + formatTraffic(player.sent, player.received)));
             }
         }
     }
 
+    /**
+     * Start or stop the load test with fake players
+     */
+    private void loadtest(MinecraftServer server, ICommandSender sender, String[] args) throws CommandException
+    {
+        if (!Metamorph.loadTest.get())
+        {
+            throw new CommandException("metamorph.error.loadtest_disabled");
+        }
+
+        if (args[1].equals("stop"))
+        {
+            LoadTest.INSTANCE.stop();
+        }
+        else if (args[1].equals("start") && args.length >= 4)
+        {
+            int players = parseInt(args[2], 1, 10000);
+            int morphs = parseInt(args[3], 1, 10000);
+            float rate = args.length >= 5 ? (float) parseDouble(args[4], 0, 20) : 1;
+
+            LoadTest.INSTANCE.start(server.getWorld(0), sender, players, morphs, rate);
+        }
+        else
+        {
+            throw new WrongUsageException(this.getUsage(sender));
+        }
+    }
+
+    private static long getBytes(NetworkStats stats, Class<?> type)
+    {
+        NetworkStats.Counter sent = stats.sent.get(type);
+        NetworkStats.Counter received = stats.received.get(type);
+
+        return (sent == null ? 0 : sent.bytes.get()) + (received == null ? 0 : received.bytes.get());
+    }
+
+    private static String formatTraffic(NetworkStats.Counter sent, NetworkStats.Counter received)
+    {
+        return formatCounter(sent) + " / " + formatCounter(received);
+    }
+
+    private static String formatCounter(NetworkStats.Counter counter)
+    {
+        if (counter == null)
+        {
+            return "-";
+        }
+
+        return String.format("%d msgs, %.1f KB", counter.messages.get(), counter.bytes.get() / 1024D);
+    }
+
     @Override
     public List<String> getTabCompletions(MinecraftServer server, ICommandSender sender, String[] args, BlockPos targetPos)
     {
         if (args.length == 1)
         {
-            return getListOfStringsMatchingLastWord(args, "reload");
+            return getListOfStringsMatchingLastWord(args, "reload", "stats", "netstats", "loadtest");
         }
 
         if (args.length == 2)
@@ -127,6 +255,14 @@ public class CommandMetamorph extends CommandBase
             {
                 return getListOfStringsMatchingLastWord(args, "blacklist", "morphs", "remapper");
             }
+            else if (args[0].equals("stats") || args[0].equals("netstats"))
+            {
+                return getListOfStringsMatchingLastWord(args, "client", "reset");
+            }
+            else if (args[0].equals("loadtest"))
+            {
+                return getListOfStringsMatchingLastWord(args, "start", "stop");
+            }
         }
 
         return super.getTabCompletions(server, sender, args, targetPos);
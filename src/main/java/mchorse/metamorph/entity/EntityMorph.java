@@ -6,6 +6,7 @@ import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.api.models.IMorphProvider;
 import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.util.MetamorphProfiler;
 import net.minecraft.entity.EntityLivingBase;
 import net.minecraft.entity.item.EntityItem;
 import net.minecraft.entity.item.EntityXPOrb;
@@ -14,7 +15,11 @@ import net.minecraft.init.SoundEvents;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.network.datasync.DataParameter;
+import net.minecraft.network.datasync.DataSerializers;
+import net.minecraft.network.datasync.EntityDataManager;
 import net.minecraft.network.play.server.SPacketCollectItem;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.EnumHandSide;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.MathHelper;
@@ -39,14 +44,35 @@ import java.util.UUID;
  */
 public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSpawnData, IMorphProvider
 {
+    /**
+     * Default lifetime of a ghost, in ticks
+     */
+    public static final int LIFETIME = 2400;
+
+    /**
+     * How many ghosts were merged into this one
+     */
+    private static final DataParameter<Integer> COUNT = EntityDataManager.<Integer>createKey(EntityMorph.class, DataSerializers.VARINT);
+
     private String username;
     private UUID owner;
     private boolean ownerless = true;
 
     private EntityPlayer player;
 
+    /**
+     * Ticks left until the next attempt to find an owner who isn't online
+     * or isn't in this world
+     */
+    private int ownerCooldown;
+
+    /**
+     * Cached hash of the morph's NBT, used to quickly compare ghosts
+     */
+    private int fingerprint;
+
     public int timer = 30;
-    public int lifetime = 2400;
+    public int lifetime = LIFETIME;
     public AbstractMorph morph;
 
     /**
@@ -74,12 +100,65 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
         this.setSize(morph);
     }
 
+    /**
+     * Compute a fingerprint of given morph
+     */
+    public static int fingerprint(AbstractMorph morph)
+    {
+        return morph == null ? 0 : morph.toNBT().hashCode();
+    }
+
+    @Override
+    protected void entityInit()
+    {
+        super.entityInit();
+
+        this.dataManager.register(COUNT, 1);
+    }
+
     @Override
     public AbstractMorph getMorph()
     {
         return this.morph;
     }
 
+    public UUID getOwner()
+    {
+        return this.owner;
+    }
+
+    public int getFingerprint()
+    {
+        return this.fingerprint;
+    }
+
+    /**
+     * Get how many ghosts this ghost represents
+     */
+    public int getCount()
+    {
+        return this.dataManager.get(COUNT);
+    }
+
+    public void setCount(int count)
+    {
+        this.dataManager.set(COUNT, Math.max(count, 1));
+    }
+
+    /**
+     * Merge another ghost of the same morph into this one, which also 
+     * refreshes its lifetime
+     */
+    public void merge()
+    {
+        this.setCount(this.getCount() + 1);
+
+        if (this.lifetime >= 0)
+        {
+            this.lifetime = LIFETIME;
+        }
+    }
+
     /**
      * Get display name
      */
@@ -88,7 +167,15 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
     {
         if (this.morph != null)
         {
-            return new TextComponentTranslation("entity." + this.morph.name + ".name");
+            ITextComponent name = new TextComponentTranslation("entity." + this.morph.name + ".name");
+            int count = this.getCount();
+
+            if (count > 1)
+            {
+                name.appendText(" x" + count);
+            }
+
+            return name;
         }
 
         return super.getDisplayName();
@@ -103,6 +190,8 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
         {
             this.setSize(MathHelper.clamp(morph.getWidth(this), 0, 1.5F), MathHelper.clamp(morph.getHeight(this), 0, 2.0F));
         }
+
+        this.fingerprint = fingerprint(morph);
     }
 
     @Override
@@ -130,6 +219,20 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
     protected void collideWithNearbyEntities()
     {}
 
+    /**
+     * Stop tracking this ghost once it's dead
+     */
+    @Override
+    public void setDead()
+    {
+        super.setDead();
+
+        if (!this.world.isRemote)
+        {
+            GhostTracker.INSTANCE.remove(this);
+        }
+    }
+
     /**
      * Update method
      * 
@@ -139,6 +242,20 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
      */
     @Override
     public void onUpdate()
+    {
+        long start = System.nanoTime();
+
+        try
+        {
+            this.updateGhost();
+        }
+        finally
+        {
+            MetamorphProfiler.get(this.world.isRemote).end(MetamorphProfiler.GHOST_UPDATE, start);
+        }
+    }
+
+    private void updateGhost()
     {
         /* Don't allow it move horizontally */
         this.motionX = this.motionZ = 0;
@@ -176,28 +293,35 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
      */
     private void updateMorph()
     {
-        /* Grant ownerless morph to the first collided player */
+        /* Grant ownerless morph to the first collided player (there are
+         * way less players in the world than entities in nearby chunks) */
         if (this.ownerless)
         {
-            for (EntityPlayer player : this.world.getEntitiesWithinAABB(EntityPlayer.class, this.getEntityBoundingBox()))
+            for (EntityPlayer player : this.world.playerEntities)
             {
-                this.grantMorph(player);
+                if (!player.isSpectator() && this.getEntityBoundingBox().intersects(player.getEntityBoundingBox()))
+                {
+                    this.grantMorph(player);
 
-                break;
+                    break;
+                }
             }
         }
         else
         {
             /* Find the owner */
-            if (this.player == null || this.player.isDead)
+            if (this.player == null || this.player.isDead || this.player.world != this.world)
             {
-                if (this.owner != null)
+                this.player = null;
+
+                if (this.ownerCooldown > 0)
                 {
-                    this.player = this.world.getPlayerEntityByUUID(this.owner);
+                    this.ownerCooldown--;
                 }
-                else if (this.username != null)
+                else
                 {
-                    this.player = this.world.getPlayerEntityByName(this.username);
+                    this.player = this.findOwner();
+                    this.ownerCooldown = this.player == null ? 20 : 0;
                 }
             }
 
@@ -209,6 +333,38 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
         }
     }
 
+    /**
+     * Look up the owner through server's player list, which is indexed 
+     * by UUID. Once the owner is found by username, its UUID is cached, so 
+     * further look ups are done by UUID.
+     */
+    private EntityPlayer findOwner()
+    {
+        MinecraftServer server = this.world.getMinecraftServer();
+        EntityPlayer player = null;
+
+        if (server == null)
+        {
+            return null;
+        }
+
+        if (this.owner != null)
+        {
+            player = server.getPlayerList().getPlayerByUUID(this.owner);
+        }
+        else if (this.username != null)
+        {
+            player = server.getPlayerList().getPlayerByUsername(this.username);
+
+            if (player != null)
+            {
+                this.owner = player.getUniqueID();
+            }
+        }
+
+        return player != null && player.world == this.world ? player : null;
+    }
+
     /**
      * Grant morph to the player
      * 
@@ -240,6 +396,11 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
         compound.setInteger("LifeTime", this.lifetime);
         compound.setBoolean("Ownerless", this.ownerless);
 
+        if (this.getCount() > 1)
+        {
+            compound.setInteger("Count", this.getCount());
+        }
+
         if (this.username != null && !this.username.isEmpty())
         {
             compound.setString("Username", this.username);
@@ -271,6 +432,11 @@ public class EntityMorph extends EntityLivingBase implements IEntityAdditionalSp
             this.lifetime = compound.getInteger("LifeTime");
         }
 
+        if (compound.hasKey("Count", 99))
+        {
+            this.setCount(compound.getInteger("Count"));
+        }
+
         if (this.owner != null)
         {
             this.ownerless = false;
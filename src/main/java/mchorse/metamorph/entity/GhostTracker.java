@@ -0,0 +1,276 @@
+package mchorse.metamorph.entity;
+
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ghost tracker
+ *
+ * This class keeps track of ghost morph entities on the server side. Ghosts
+ * are indexed by their owner and by the chunk where they are located, so
+ * kills which would produce an already existing ghost can be merged into it,
+ * and the amount of ghosts per owner and per chunk can be capped without
+ * scanning the world.
+ *
+ * Ghosts never move horizontally, so the chunk they were registered in stays
+ * the same during their whole life. Ghosts are forgotten when they die, or
+ * when their chunk or world gets unloaded, and lists which become empty are
+ * removed.
+ */
+public class GhostTracker
+{
+    public static final GhostTracker INSTANCE = new GhostTracker();
+
+    /**
+     * Ghosts by their owner, ordered from the oldest to the newest
+     */
+    private Map<UUID, List<EntityMorph>> owners = new HashMap<UUID, List<EntityMorph>>();
+
+    /**
+     * Ghosts by dimension and chunk, ordered from the oldest to the newest
+     */
+    private Map<Integer, Map<Long, List<EntityMorph>>> chunks = new HashMap<Integer, Map<Long, List<EntityMorph>>>();
+
+    /**
+     * Register a ghost which just joined the world
+     */
+    public void add(EntityMorph ghost)
+    {
+        int dimension = ghost.world.provider.getDimension();
+        Map<Long, List<EntityMorph>> chunks = this.chunks.get(dimension);
+
+        if (chunks == null)
+        {
+            chunks = new HashMap<Long, List<EntityMorph>>();
+            this.chunks.put(dimension, chunks);
+        }
+
+        long key = getKey(ghost.posX, ghost.posZ);
+        List<EntityMorph> chunk = chunks.get(key);
+
+        if (chunk == null)
+        {
+            chunk = new ArrayList<EntityMorph>();
+            chunks.put(key, chunk);
+        }
+
+        if (!chunk.contains(ghost))
+        {
+            chunk.add(ghost);
+        }
+
+        UUID owner = ghost.getOwner();
+
+        if (owner != null)
+        {
+            List<EntityMorph> ghosts = this.owners.get(owner);
+
+            if (ghosts == null)
+            {
+                ghosts = new ArrayList<EntityMorph>();
+                this.owners.put(owner, ghosts);
+            }
+
+            if (!ghosts.contains(ghost))
+            {
+                ghosts.add(ghost);
+            }
+        }
+    }
+
+    /**
+     * Forget a ghost which died
+     */
+    public void remove(EntityMorph ghost)
+    {
+        Map<Long, List<EntityMorph>> chunks = this.chunks.get(ghost.world.provider.getDimension());
+
+        if (chunks != null)
+        {
+            long key = getKey(ghost.posX, ghost.posZ);
+            List<EntityMorph> chunk = chunks.get(key);
+
+            if (chunk != null && chunk.remove(ghost) && chunk.isEmpty())
+            {
+                chunks.remove(key);
+
+                if (chunks.isEmpty())
+                {
+                    this.chunks.remove(ghost.world.provider.getDimension());
+                }
+            }
+        }
+
+        this.removeOwned(ghost);
+    }
+
+    /**
+     * Forget ghosts which were unloaded along with given chunk
+     */
+    public void unloadChunk(World world, int x, int z)
+    {
+        int dimension = world.provider.getDimension();
+        Map<Long, List<EntityMorph>> chunks = this.chunks.get(dimension);
+
+        if (chunks == null)
+        {
+            return;
+        }
+
+        List<EntityMorph> chunk = chunks.remove(ChunkPos.asLong(x, z));
+
+        if (chunk != null)
+        {
+            for (EntityMorph ghost : chunk)
+            {
+                this.removeOwned(ghost);
+            }
+        }
+
+        if (chunks.isEmpty())
+        {
+            this.chunks.remove(dimension);
+        }
+    }
+
+    /**
+     * Forget ghosts of given world which gets unloaded, so tracked ghosts 
+     * wouldn't keep the world in memory
+     */
+    public void unloadWorld(World world)
+    {
+        Map<Long, List<EntityMorph>> chunks = this.chunks.remove(world.provider.getDimension());
+
+        if (chunks == null)
+        {
+            return;
+        }
+
+        for (List<EntityMorph> chunk : chunks.values())
+        {
+            for (EntityMorph ghost : chunk)
+            {
+                this.removeOwned(ghost);
+            }
+        }
+    }
+
+    /**
+     * Find a live ghost near given position (in the same or a neighboring
+     * chunk) which belongs to given owner and which holds the same morph
+     */
+    public EntityMorph find(World world, UUID owner, AbstractMorph morph, double x, double z)
+    {
+        List<EntityMorph> ghosts = this.owners.get(owner);
+
+        if (ghosts == null)
+        {
+            return null;
+        }
+
+        int fingerprint = EntityMorph.fingerprint(morph);
+        int chunkX = (int) Math.floor(x) >> 4;
+        int chunkZ = (int) Math.floor(z) >> 4;
+
+        for (EntityMorph ghost : ghosts)
+        {
+            if (ghost.isDead || ghost.world != world || Math.abs(((int) Math.floor(ghost.posX) >> 4) - chunkX) > 1 || Math.abs(((int) Math.floor(ghost.posZ) >> 4) - chunkZ) > 1)
+            {
+                continue;
+            }
+
+            if (ghost.getFingerprint() == fingerprint && morph.equals(ghost.morph))
+            {
+                return ghost;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Make room for a new ghost of given owner at given position by
+     * removing the oldest ghosts which exceed per owner and per chunk
+     * limits
+     */
+    public void makeRoom(World world, UUID owner, double x, double z, int perOwner, int perChunk)
+    {
+        List<EntityMorph> ghosts = this.owners.get(owner);
+
+        if (ghosts != null)
+        {
+            evict(ghosts, perOwner);
+        }
+
+        Map<Long, List<EntityMorph>> chunks = this.chunks.get(world.provider.getDimension());
+
+        if (chunks != null)
+        {
+            ghosts = chunks.get(getKey(x, z));
+
+            if (ghosts != null)
+            {
+                evict(ghosts, perChunk);
+            }
+        }
+    }
+
+    /**
+     * Forget all tracked ghosts (called when the server stops)
+     */
+    public void clear()
+    {
+        this.owners.clear();
+        this.chunks.clear();
+    }
+
+    private void removeOwned(EntityMorph ghost)
+    {
+        UUID owner = ghost.getOwner();
+
+        if (owner == null)
+        {
+            return;
+        }
+
+        List<EntityMorph> ghosts = this.owners.get(owner);
+
+        if (ghosts != null && ghosts.remove(ghost) && ghosts.isEmpty())
+        {
+            this.owners.remove(owner);
+        }
+    }
+
+    private static long getKey(double x, double z)
+    {
+        return ChunkPos.asLong((int) Math.floor(x) >> 4, (int) Math.floor(z) >> 4);
+    }
+
+    /**
+     * Kill the oldest ghosts in given list, so that there would be room 
+     * for one more ghost. Killed ghosts remove themselves from the 
+     * tracker. Zero limit means no limit.
+     */
+    private static void evict(List<EntityMorph> ghosts, int limit)
+    {
+        if (limit <= 0)
+        {
+            return;
+        }
+
+        while (ghosts.size() >= limit)
+        {
+            EntityMorph ghost = ghosts.get(0);
+
+            ghost.setDead();
+            ghosts.remove(ghost);
+        }
+    }
+}
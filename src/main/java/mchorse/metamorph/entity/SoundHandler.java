@@ -50,82 +50,87 @@ public class SoundHandler
         morphing.setLastDamageSource(event.getSource());
     }
 
+    /**
+     * Replace player's sounds with morph's sounds. Unmorphed players, 
+     * sounds which aren't hurt, death or step sounds, and morphs which 
+     * don't replace given kind of sound are skipped right away using 
+     * current morph's {@link SoundProfile}. Step sounds are still 
+     * cancelled while player's hitbox doesn't match the morph's.
+     */
     @SubscribeEvent
     public void onPlaySound(PlaySoundAtEntityEvent event)
     {
         Entity entity = event.getEntity();
-        if (!(entity instanceof EntityPlayer))
+        SoundEvent sound = event.getSound();
+
+        if (!(entity instanceof EntityPlayer) || sound == null)
         {
+            // Sounds can be null, apparently
             return;
         }
+
         EntityPlayer player = (EntityPlayer) entity;
         IMorphing morphing = Morphing.get(player);
-        if (morphing == null)
+
+        if (morphing == null || !morphing.isMorphed())
         {
             return;
         }
-        AbstractMorph morph = morphing.getCurrentMorph();
-        if (morph == null)
+
+        SoundProfile.Kind kind = SoundProfile.getKind(sound);
+
+        if (kind == SoundProfile.Kind.OTHER)
         {
             return;
         }
 
-        SoundEvent sound = event.getSound();
-        if (sound == null) {
-            // Sounds can be null, apparently
-            return;
-        }
-        ResourceLocation soundResource = sound.getRegistryName();
-        if (soundResource == null) {
-            return;
-        }
-        String soundType = soundResource.getResourcePath();
-        
-        if (soundType.endsWith(".hurt"))
+        SoundProfile profile = morphing.getSoundProfile(player);
+        AbstractMorph morph = morphing.getCurrentMorph();
+
+        if (kind == SoundProfile.Kind.HURT)
         {
-            SoundEvent newSound = morph.getHurtSound(player, morphing.getLastDamageSource());
-            if (newSound == NO_SOUND)
+            if (profile.hurt)
             {
-                event.setCanceled(true);
-            }
-            else if (newSound != null)
-            {
-                event.setSound(newSound);
+                this.replaceSound(event, morph.getHurtSound(player, morphing.getLastDamageSource()));
             }
         }
-        else if (soundType.endsWith(".death"))
+        else if (kind == SoundProfile.Kind.DEATH)
         {
-            SoundEvent newSound = morph.getDeathSound(player);
-            if (newSound == NO_SOUND)
+            if (profile.death)
             {
-                event.setCanceled(true);
-            }
-            else if (newSound != null)
-            {
-                event.setSound(newSound);
+                this.replaceSound(event, morph.getDeathSound(player));
             }
         }
-        else if (soundType.endsWith(".step"))
+        else if (player.width != morph.getWidth(player) || player.height != morph.getHeight(player))
         {
-            if (player.width != morph.getWidth(player) || player.height != morph.getHeight(player))
-            {
-                /*
-                 * Check if the player's current hitbox does not
-                 * match the morph hitbox.
-                 * 
-                 * Each tick, the player entity attempts to revert
-                 * back to the default player hitbox. If the current
-                 * morph hitbox is smaller than the player hitbox,
-                 * movement can be triggered, which in turn triggers
-                 * a step sound.
-                 */
-                event.setCanceled(true);
-            }
-            else if (morph.hasCustomStepSound(player))
-            {
-                event.setCanceled(true);
-                morph.playStepSound(player);
-            }
+            /*
+             * Check if the player's current hitbox does not
+             * match the morph hitbox.
+             * 
+             * Each tick, the player entity attempts to revert
+             * back to the default player hitbox. If the current
+             * morph hitbox is smaller than the player hitbox,
+             * movement can be triggered, which in turn triggers
+             * a step sound.
+             */
+            event.setCanceled(true);
+        }
+        else if (profile.step)
+        {
+            event.setCanceled(true);
+            morph.playStepSound(player);
+        }
+    }
+
+    private void replaceSound(PlaySoundAtEntityEvent event, SoundEvent newSound)
+    {
+        if (newSound == NO_SOUND)
+        {
+            event.setCanceled(true);
+        }
+        else if (newSound != null)
+        {
+            event.setSound(newSound);
         }
     }
 }
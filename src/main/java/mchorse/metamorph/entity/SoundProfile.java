@@ -0,0 +1,131 @@
+package mchorse.metamorph.entity;
+
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.util.DamageSource;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.SoundEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sound profile
+ *
+ * Describes which of the player's sounds a morph replaces. It's computed
+ * once per morph, so {@link SoundHandler} doesn't have to ask the morph on
+ * every played sound.
+ */
+public class SoundProfile
+{
+    /**
+     * Category of every sound event that was played at a morphed player
+     * (sound events are registry singletons, and both client and server
+     * threads play sounds in single player)
+     */
+    private static final Map<SoundEvent, Kind> KINDS = new ConcurrentHashMap<SoundEvent, Kind>();
+
+    /**
+     * Whether given morph class overrides sound methods (cached per class)
+     */
+    private static final Map<Class<?>, boolean[]> OVERRIDES = new HashMap<Class<?>, boolean[]>();
+
+    /**
+     * Does the morph replace hurt sound
+     */
+    public final boolean hurt;
+
+    /**
+     * Does the morph replace death sound
+     */
+    public final boolean death;
+
+    /**
+     * Does the morph play its own step sound
+     */
+    public final boolean step;
+
+    public SoundProfile(AbstractMorph morph, EntityLivingBase target)
+    {
+        boolean[] overrides = getOverrides(morph.getClass());
+
+        this.hurt = overrides[0];
+        this.death = overrides[1];
+        this.step = morph.hasCustomStepSound(target);
+    }
+
+    /**
+     * Get the category of given sound event
+     */
+    public static Kind getKind(SoundEvent sound)
+    {
+        Kind kind = KINDS.get(sound);
+
+        if (kind == null)
+        {
+            kind = Kind.OTHER;
+
+            ResourceLocation location = sound.getRegistryName();
+
+            if (location != null)
+            {
+                String path = location.getResourcePath();
+
+                if (path.endsWith(".hurt"))
+                {
+                    kind = Kind.HURT;
+                }
+                else if (path.endsWith(".death"))
+                {
+                    kind = Kind.DEATH;
+                }
+                else if (path.endsWith(".step"))
+                {
+                    kind = Kind.STEP;
+                }
+            }
+
+            KINDS.put(sound, kind);
+        }
+
+        return kind;
+    }
+
+    /**
+     * Check whether given morph class overrides hurt and death sound
+     * getters of {@link AbstractMorph}
+     */
+    private static boolean[] getOverrides(Class<?> clazz)
+    {
+        synchronized (OVERRIDES)
+        {
+            boolean[] overrides = OVERRIDES.get(clazz);
+
+            if (overrides == null)
+            {
+                overrides = new boolean[2];
+
+                try
+                {
+                    overrides[0] = clazz.getMethod("getHurtSound", EntityLivingBase.class, DamageSource.class).getDeclaringClass() != AbstractMorph.class;
+                    overrides[1] = clazz.getMethod("getDeathSound", EntityLivingBase.class).getDeclaringClass() != AbstractMorph.class;
+                }
+                catch (Exception e)
+                {
+                    /* Assume the worst, and ask the morph every time */
+                    overrides[0] = overrides[1] = true;
+                }
+
+                OVERRIDES.put(clazz, overrides);
+            }
+
+            return overrides;
+        }
+    }
+
+    public static enum Kind
+    {
+        HURT, DEATH, STEP, OTHER;
+    }
+}
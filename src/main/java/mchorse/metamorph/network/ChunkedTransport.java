@@ -0,0 +1,448 @@
+package mchorse.metamorph.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.mclib.network.ServerMessageHandler;
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.network.common.PacketChunk;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Chunked transport
+ *
+ * Morph packets can get really big (acquired morphs, or morphs with a lot
+ * of nested body parts), bigger than custom payload packets allow. Messages
+ * of registered types which are bigger than {@link #COMPRESS_THRESHOLD}
+ * get deflated and split into {@link PacketChunk}s, which are assembled
+ * and handed over to message's handler on the other side. Smaller messages
+ * of registered types are sent as a single uncompressed chunk, because
+ * they were already encoded to find out their size.
+ */
+public class ChunkedTransport
+{
+    /**
+     * Encoded messages bigger than this (in bytes) get compressed and
+     * chunked
+     */
+    public static final int COMPRESS_THRESHOLD = 8192;
+
+    /**
+     * Maximum size of chunk's data, it fits into client to server custom
+     * payload packets (which are limited to 32767 bytes)
+     */
+    public static final int CHUNK_SIZE = 30000;
+
+    /**
+     * Maximum size of a message (both compressed and inflated) that will
+     * be accepted
+     */
+    public static final int MAX_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * Maximum amount of unfinished transfers per sender, the oldest
+     * transfer gets dropped when there are too many
+     */
+    public static final int MAX_TRANSFERS = 4;
+
+    /**
+     * Unfinished transfers older than this (in ms) get dropped
+     */
+    public static final long TIMEOUT = 30000;
+
+    /**
+     * Maximum compression ratio of deflate, it's used to reject chunked 
+     * messages which claim to inflate to more than their data can hold
+     */
+    public static final int MAX_RATIO = 1032;
+
+    /* Metrics */
+    public final AtomicLong chunkedSends = new AtomicLong();
+    public final AtomicLong chunksSent = new AtomicLong();
+    public final AtomicLong bytesEncoded = new AtomicLong();
+    public final AtomicLong bytesSent = new AtomicLong();
+    public final AtomicLong droppedTransfers = new AtomicLong();
+
+    private List<Class<? extends IMessage>> types = new ArrayList<Class<? extends IMessage>>();
+    private Map<Class<? extends IMessage>, ClientMessageHandler<?>> clientHandlers = new HashMap<Class<? extends IMessage>, ClientMessageHandler<?>>();
+    private Map<Class<? extends IMessage>, ServerMessageHandler<?>> serverHandlers = new HashMap<Class<? extends IMessage>, ServerMessageHandler<?>>();
+
+    private AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * Unfinished transfers by sender
+     */
+    private Map<Object, Map<Integer, Transfer>> transfers = new HashMap<Object, Map<Integer, Transfer>>();
+
+    /**
+     * Register a message type which may be chunked. Types must be
+     * registered in the same order on both sides, given handlers may be
+     * null if the message is sent only in one direction.
+     */
+    public <T extends IMessage> void register(Class<T> type, ClientMessageHandler<T> client, ServerMessageHandler<T> server)
+    {
+        this.types.add(type);
+
+        if (client != null)
+        {
+            this.clientHandlers.put(type, client);
+        }
+
+        if (server != null)
+        {
+            this.serverHandlers.put(type, server);
+        }
+    }
+
+    /**
+     * Get the class of the message which is carried by given chunk, or
+     * null if the chunk's type is invalid
+     */
+    public Class<? extends IMessage> getType(PacketChunk chunk)
+    {
+        return chunk.type >= 0 && chunk.type < this.types.size() ? this.types.get(chunk.type) : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends IMessage> ClientMessageHandler<T> getClientHandler(T message)
+    {
+        return (ClientMessageHandler<T>) this.clientHandlers.get(message.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends IMessage> ServerMessageHandler<T> getServerHandler(T message)
+    {
+        return (ServerMessageHandler<T>) this.serverHandlers.get(message.getClass());
+    }
+
+    /**
+     * Send given message with given sender, splitting it into chunks if
+     * it's big
+     */
+    public void send(IMessage message, Consumer<IMessage> sender)
+    {
+        int type = this.types.indexOf(message.getClass());
+
+        if (type == -1)
+        {
+            sender.accept(message);
+
+            return;
+        }
+
+        ByteBuf buf = Unpooled.buffer();
+
+        message.toBytes(buf);
+
+        byte[] data = new byte[buf.readableBytes()];
+
+        buf.readBytes(data);
+
+        if (data.length <= COMPRESS_THRESHOLD)
+        {
+            sender.accept(new PacketChunk(this.nextId.getAndIncrement(), 0, 1, type, false, data.length, data));
+
+            return;
+        }
+
+        byte[] compressed = deflate(data);
+        int id = this.nextId.getAndIncrement();
+        int count = (compressed.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        for (int i = 0; i < count; i++)
+        {
+            byte[] chunk = Arrays.copyOfRange(compressed, i * CHUNK_SIZE, Math.min(compressed.length, (i + 1) * CHUNK_SIZE));
+
+            sender.accept(new PacketChunk(id, i, count, type, true, data.length, chunk));
+        }
+
+        this.chunkedSends.incrementAndGet();
+        this.chunksSent.addAndGet(count);
+        this.bytesEncoded.addAndGet(data.length);
+        this.bytesSent.addAndGet(compressed.length);
+    }
+
+    /**
+     * Receive a chunk from given sender. Returns assembled message once
+     * all of its chunks were received, otherwise null.
+     */
+    public synchronized IMessage receive(Object sender, PacketChunk chunk)
+    {
+        if (chunk.count == 1)
+        {
+            /* Small messages don't need to be assembled */
+            if (!this.isValid(chunk) || chunk.index != 0 || chunk.data.length > CHUNK_SIZE)
+            {
+                this.drop(chunk.id, "invalid header");
+
+                return null;
+            }
+
+            return this.decode(chunk, chunk.type, chunk.compressed, chunk.length, chunk.data);
+        }
+
+        Map<Integer, Transfer> transfers = this.transfers.get(sender);
+
+        if (transfers == null)
+        {
+            transfers = new LinkedHashMap<Integer, Transfer>();
+            this.transfers.put(sender, transfers);
+        }
+
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<Integer, Transfer>> it = transfers.entrySet().iterator();
+
+        while (it.hasNext())
+        {
+            Map.Entry<Integer, Transfer> entry = it.next();
+
+            if (now - entry.getValue().time > TIMEOUT)
+            {
+                it.remove();
+                this.drop(entry.getKey(), "timed out");
+            }
+        }
+
+        Transfer transfer = transfers.get(chunk.id);
+
+        if (transfer == null)
+        {
+            if (!this.isValid(chunk))
+            {
+                this.drop(chunk.id, "invalid header");
+
+                return null;
+            }
+
+            if (transfers.size() >= MAX_TRANSFERS)
+            {
+                it = transfers.entrySet().iterator();
+
+                int id = it.next().getKey();
+
+                it.remove();
+                this.drop(id, "too many unfinished transfers");
+            }
+
+            transfer = new Transfer(chunk, now);
+            transfers.put(chunk.id, transfer);
+        }
+
+        if (!transfer.add(chunk))
+        {
+            transfers.remove(chunk.id);
+            this.drop(chunk.id, "inconsistent chunk");
+
+            return null;
+        }
+
+        if (!transfer.isComplete())
+        {
+            return null;
+        }
+
+        transfers.remove(chunk.id);
+
+        if (transfers.isEmpty())
+        {
+            this.transfers.remove(sender);
+        }
+
+        return this.decode(chunk, transfer.type, transfer.compressed, transfer.length, transfer.getData());
+    }
+
+    /**
+     * Decode a message of given type out of given (possibly deflated) data
+     */
+    private IMessage decode(PacketChunk chunk, int type, boolean compressed, int length, byte[] data)
+    {
+        try
+        {
+            if (compressed)
+            {
+                data = inflate(data, length);
+            }
+            else if (data.length != length)
+            {
+                throw new DataFormatException("size doesn't match");
+            }
+
+            IMessage message = this.types.get(type).newInstance();
+
+            message.fromBytes(Unpooled.wrappedBuffer(data));
+
+            return message;
+        }
+        catch (Exception e)
+        {
+            this.drop(chunk.id, e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Forget unfinished transfers of given sender
+     */
+    public synchronized void clear(Object sender)
+    {
+        this.transfers.remove(sender);
+    }
+
+    private boolean isValid(PacketChunk chunk)
+    {
+        return chunk.type >= 0 && chunk.type < this.types.size() &&
+            chunk.count > 0 && (long) chunk.count * CHUNK_SIZE <= MAX_SIZE + CHUNK_SIZE &&
+            chunk.length >= 0 && chunk.length <= MAX_SIZE;
+    }
+
+    private void drop(int id, String reason)
+    {
+        this.droppedTransfers.incrementAndGet();
+        Metamorph.LOGGER.warn("Dropped chunked message " + id + ": " + reason);
+    }
+
+    private static byte[] deflate(byte[] data)
+    {
+        Deflater deflater = new Deflater();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream(data.length / 4);
+        byte[] buffer = new byte[8192];
+
+        deflater.setInput(data);
+        deflater.finish();
+
+        while (!deflater.finished())
+        {
+            stream.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        deflater.end();
+
+        return stream.toByteArray();
+    }
+
+    /**
+     * Inflate given data, which must inflate exactly to given length. 
+     * Declared length is checked against the most that deflate can 
+     * squeeze into given data, before the buffer gets allocated
+     */
+    private static byte[] inflate(byte[] data, int length) throws DataFormatException
+    {
+        if (length > (long) data.length * MAX_RATIO)
+        {
+            throw new DataFormatException("declared size is too big");
+        }
+
+        Inflater inflater = new Inflater();
+        byte[] result = new byte[length];
+        int offset = 0;
+
+        try
+        {
+            inflater.setInput(data);
+
+            while (!inflater.finished() && offset < length)
+            {
+                int inflated = inflater.inflate(result, offset, length - offset);
+
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    break;
+                }
+
+                offset += inflated;
+            }
+
+            if (offset != length || !inflater.finished())
+            {
+                throw new DataFormatException("inflated size doesn't match");
+            }
+        }
+        finally
+        {
+            inflater.end();
+        }
+
+        return result;
+    }
+
+    /**
+     * Unfinished transfer
+     */
+    private static class Transfer
+    {
+        public final int type;
+        public final boolean compressed;
+        public final int length;
+        public final long time;
+
+        private byte[][] chunks;
+        private int received;
+        private int size;
+
+        public Transfer(PacketChunk chunk, long time)
+        {
+            this.type = chunk.type;
+            this.compressed = chunk.compressed;
+            this.length = chunk.length;
+            this.time = time;
+            this.chunks = new byte[chunk.count][];
+        }
+
+        public boolean add(PacketChunk chunk)
+        {
+            if (chunk.type != this.type || chunk.count != this.chunks.length || chunk.length != this.length || chunk.index < 0 || chunk.index >= this.chunks.length)
+            {
+                return false;
+            }
+
+            if (chunk.data.length > CHUNK_SIZE || this.size + chunk.data.length > MAX_SIZE)
+            {
+                return false;
+            }
+
+            if (this.chunks[chunk.index] == null)
+            {
+                this.chunks[chunk.index] = chunk.data;
+                this.received += 1;
+                this.size += chunk.data.length;
+            }
+
+            return true;
+        }
+
+        public boolean isComplete()
+        {
+            return this.received == this.chunks.length;
+        }
+
+        public byte[] getData()
+        {
+            byte[] data = new byte[this.size];
+            int offset = 0;
+
+            for (byte[] chunk : this.chunks)
+            {
+                System.arraycopy(chunk, 0, data, offset, chunk.length);
+                offset += chunk.length;
+            }
+
+            return data;
+        }
+    }
+}
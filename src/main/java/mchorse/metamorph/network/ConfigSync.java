@@ -0,0 +1,207 @@
+package mchorse.metamorph.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.MorphSettings;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ServerData;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Config sync
+ *
+ * On login, the server sends only a digest of its morph blacklist and
+ * settings. Clients keep the last received blacklist and settings of every
+ * server they've joined, and request them from the server only if the
+ * digest doesn't match the cached one.
+ */
+public class ConfigSync
+{
+    /**
+     * Active blacklist and settings the cached payload was encoded from
+     */
+    private static Set<String> blacklist;
+    private static Map<String, MorphSettings> settings;
+
+    private static byte[] payload;
+    private static String digest;
+
+    /**
+     * Get encoded active blacklist and settings (server side). Active
+     * blacklist and settings are replaced as a whole when they change, so
+     * the payload is encoded again only when they were replaced.
+     */
+    public static synchronized byte[] getPayload()
+    {
+        MorphManager manager = MorphManager.INSTANCE;
+
+        if (payload == null || blacklist != manager.activeBlacklist || settings != manager.activeSettings)
+        {
+            blacklist = manager.activeBlacklist;
+            settings = manager.activeSettings;
+            payload = encode(blacklist, settings);
+            digest = DigestUtils.sha1Hex(payload);
+        }
+
+        return payload;
+    }
+
+    /**
+     * Get digest of active blacklist and settings (server side)
+     */
+    public static synchronized String getDigest()
+    {
+        getPayload();
+
+        return digest;
+    }
+
+    /**
+     * Encode given blacklist and settings. Entries are sorted, so equal
+     * configs always produce the same bytes (and digest)
+     */
+    public static byte[] encode(Set<String> blacklist, Map<String, MorphSettings> settings)
+    {
+        ByteBuf buf = Unpooled.buffer();
+
+        buf.writeInt(blacklist.size());
+
+        for (String name : new TreeSet<String>(blacklist))
+        {
+            ByteBufUtils.writeUTF8String(buf, name);
+        }
+
+        buf.writeInt(settings.size());
+
+        for (Map.Entry<String, MorphSettings> entry : new TreeMap<String, MorphSettings>(settings).entrySet())
+        {
+            ByteBufUtils.writeUTF8String(buf, entry.getKey());
+            entry.getValue().toBytes(buf);
+        }
+
+        byte[] bytes = new byte[buf.readableBytes()];
+
+        buf.readBytes(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Decode given payload and make it active
+     */
+    public static void apply(byte[] payload)
+    {
+        ByteBuf buf = Unpooled.wrappedBuffer(payload);
+        Set<String> blacklist = new HashSet<String>();
+        Map<String, MorphSettings> settings = new HashMap<String, MorphSettings>();
+
+        for (int i = 0, c = buf.readInt(); i < c; i++)
+        {
+            blacklist.add(ByteBufUtils.readUTF8String(buf));
+        }
+
+        for (int i = 0, c = buf.readInt(); i < c; i++)
+        {
+            String key = ByteBufUtils.readUTF8String(buf);
+            MorphSettings setting = new MorphSettings();
+
+            setting.fromBytes(buf);
+            settings.put(key, setting);
+        }
+
+        MorphManager.INSTANCE.setActiveBlacklist(blacklist);
+        MorphManager.INSTANCE.setActiveSettings(settings);
+    }
+
+    /**
+     * Get cache file of the current server
+     */
+    @SideOnly(Side.CLIENT)
+    private static File getCacheFile()
+    {
+        ServerData server = Minecraft.getMinecraft().getCurrentServerData();
+        String key = server == null ? "local" : server.serverIP;
+
+        return new File(Metamorph.proxy.servers, DigestUtils.sha1Hex(key) + ".dat");
+    }
+
+    /**
+     * Get cached payload of the current server, or null if it isn't cached
+     * or its digest doesn't match
+     */
+    @SideOnly(Side.CLIENT)
+    public static byte[] load(String digest)
+    {
+        File file = getCacheFile();
+
+        if (!file.exists())
+        {
+            return null;
+        }
+
+        try (DataInputStream stream = new DataInputStream(Files.newInputStream(file.toPath())))
+        {
+            if (stream.readUTF().equals(digest))
+            {
+                byte[] payload = new byte[stream.readInt()];
+
+                stream.readFully(payload);
+
+                return payload;
+            }
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to load cached morph settings of the server!");
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Cache given payload of the current server
+     */
+    @SideOnly(Side.CLIENT)
+    public static void save(byte[] payload)
+    {
+        File file = getCacheFile();
+        File temp = new File(file.getPath() + ".tmp");
+
+        try
+        {
+            file.getParentFile().mkdirs();
+
+            try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(temp.toPath())))
+            {
+                stream.writeUTF(DigestUtils.sha1Hex(payload));
+                stream.writeInt(payload.length);
+                stream.write(payload);
+            }
+
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to cache morph settings of the server!");
+            e.printStackTrace();
+        }
+    }
+}
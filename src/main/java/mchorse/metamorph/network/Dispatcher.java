@@ -5,6 +5,11 @@ import mchorse.metamorph.Metamorph;
 import mchorse.metamorph.network.client.creative.ClientHandlerAcquireMorph;
 import mchorse.metamorph.network.client.survival.ClientHandlerAcquiredMorphs;
 import mchorse.metamorph.network.client.ClientHandlerBlacklist;
+import mchorse.metamorph.network.client.ClientHandlerChunk;
+import mchorse.metamorph.network.client.ClientHandlerConfig;
+import mchorse.metamorph.network.client.ClientHandlerConfigDiff;
+import mchorse.metamorph.network.client.ClientHandlerConfigDigest;
+import mchorse.metamorph.network.client.survival.ClientHandlerConfirmMorph;
 import mchorse.metamorph.network.client.survival.ClientHandlerFavorite;
 import mchorse.metamorph.network.client.survival.ClientHandlerKeybind;
 import mchorse.metamorph.network.client.creative.ClientHandlerMorph;
@@ -16,6 +21,12 @@ import mchorse.metamorph.network.common.creative.PacketAcquireMorph;
 import mchorse.metamorph.network.common.survival.PacketAcquiredMorphs;
 import mchorse.metamorph.network.common.survival.PacketAction;
 import mchorse.metamorph.network.common.PacketBlacklist;
+import mchorse.metamorph.network.common.PacketChunk;
+import mchorse.metamorph.network.common.PacketConfig;
+import mchorse.metamorph.network.common.PacketConfigDiff;
+import mchorse.metamorph.network.common.PacketConfigDigest;
+import mchorse.metamorph.network.common.PacketConfigRequest;
+import mchorse.metamorph.network.common.survival.PacketConfirmMorph;
 import mchorse.metamorph.network.common.survival.PacketFavorite;
 import mchorse.metamorph.network.common.survival.PacketKeybind;
 import mchorse.metamorph.network.common.creative.PacketMorph;
@@ -25,6 +36,8 @@ import mchorse.metamorph.network.common.survival.PacketRemoveMorph;
 import mchorse.metamorph.network.common.survival.PacketSelectMorph;
 import mchorse.metamorph.network.common.PacketSettings;
 import mchorse.metamorph.network.common.creative.PacketSyncMorph;
+import mchorse.metamorph.network.server.ServerHandlerChunk;
+import mchorse.metamorph.network.server.ServerHandlerConfigRequest;
 import mchorse.metamorph.network.server.creative.ServerHandlerAcquireMorph;
 import mchorse.metamorph.network.server.survival.ServerHandlerAction;
 import mchorse.metamorph.network.server.survival.ServerHandlerFavorite;
@@ -35,9 +48,12 @@ import mchorse.metamorph.network.server.survival.ServerHandlerSelectMorph;
 import mchorse.metamorph.network.server.creative.ServerHandlerSyncMorph;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.common.util.FakePlayer;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.relauncher.Side;
 
+import java.util.function.BiPredicate;
+
 /**
  * Network dispatcher
  */
@@ -62,6 +78,7 @@ public class Dispatcher
             register(PacketSyncMorph.class, ServerHandlerSyncMorph.class, Side.SERVER);
 
             register(PacketSelectMorph.class, ServerHandlerSelectMorph.class, Side.SERVER);
+            register(PacketConfirmMorph.class, ClientHandlerConfirmMorph.class, Side.CLIENT);
 
             /* Morph state */
             register(PacketMorphState.class, ClientHandlerMorphState.class, Side.CLIENT);
@@ -79,15 +96,35 @@ public class Dispatcher
             /* Syncing data */
             register(PacketBlacklist.class, ClientHandlerBlacklist.class, Side.CLIENT);
             register(PacketSettings.class, ClientHandlerSettings.class, Side.CLIENT);
+            register(PacketConfigDiff.class, ClientHandlerConfigDiff.class, Side.CLIENT);
+            register(PacketConfigDigest.class, ClientHandlerConfigDigest.class, Side.CLIENT);
+            register(PacketConfigRequest.class, ServerHandlerConfigRequest.class, Side.SERVER);
+            register(PacketConfig.class, ClientHandlerConfig.class, Side.CLIENT);
+
+            /* Chunked messages */
+            register(PacketChunk.class, ClientHandlerChunk.class, Side.CLIENT);
+            register(PacketChunk.class, ServerHandlerChunk.class, Side.SERVER);
         }
     };
 
+    /**
+     * Transport of messages which may be too big for a single packet 
+     */
+    public static final ChunkedTransport CHUNKS = new ChunkedTransport();
+
+    /**
+     * Hook which can take over messages sent to fake players (i.e. the
+     * load test loops them back in memory). It returns true, if it
+     * handled the message
+     */
+    public static BiPredicate<EntityPlayerMP, IMessage> fakePlayerHook;
+
     /**
      * Send message to players who are tracking given entity
      */
     public static void sendToTracked(Entity entity, IMessage message)
     {
-        DISPATCHER.sendToTracked(entity, message);
+        CHUNKS.send(message, (packet) -> DISPATCHER.sendToTracked(entity, packet));
     }
 
     /**
@@ -95,7 +132,20 @@ public class Dispatcher
      */
     public static void sendTo(IMessage message, EntityPlayerMP player)
     {
-        DISPATCHER.sendTo(message, player);
+        if (fakePlayerHook != null && player instanceof FakePlayer && fakePlayerHook.test(player, message))
+        {
+            return;
+        }
+
+        CHUNKS.send(message, (packet) -> DISPATCHER.sendTo(packet, player));
+    }
+
+    /**
+     * Send message to all players (it gets encoded only once)
+     */
+    public static void sendToAll(IMessage message)
+    {
+        CHUNKS.send(message, (packet) -> DISPATCHER.get().sendToAll(packet));
     }
 
     /**
@@ -103,7 +153,7 @@ public class Dispatcher
      */
     public static void sendToServer(IMessage message)
     {
-        DISPATCHER.sendToServer(message);
+        CHUNKS.send(message, DISPATCHER::sendToServer);
     }
 
     /**
@@ -112,5 +162,15 @@ public class Dispatcher
     public static void register()
     {
         DISPATCHER.register();
+
+        /* Messages with morphs, which may be too big */
+        CHUNKS.register(PacketMorph.class, new ClientHandlerMorph(), new ServerHandlerMorph());
+        CHUNKS.register(PacketMorphPlayer.class, new ClientHandlerMorphPlayer(), null);
+        CHUNKS.register(PacketAcquireMorph.class, new ClientHandlerAcquireMorph(), new ServerHandlerAcquireMorph());
+        CHUNKS.register(PacketAcquiredMorphs.class, new ClientHandlerAcquiredMorphs(), null);
+        CHUNKS.register(PacketSyncMorph.class, null, new ServerHandlerSyncMorph());
+
+        /* Traffic accounting */
+        NetworkStats.attach(DISPATCHER.get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,387 @@
+package mchorse.metamorph.network;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.network.common.PacketChunk;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.network.NetHandlerPlayServer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ServerTickEvent;
+import net.minecraftforge.fml.common.network.FMLEmbeddedChannel;
+import net.minecraftforge.fml.common.network.FMLOutboundHandler;
+import net.minecraftforge.fml.common.network.FMLOutboundHandler.OutboundTarget;
+import net.minecraftforge.fml.common.network.internal.FMLProxyPacket;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleIndexedCodec;
+import net.minecraftforge.fml.common.network.simpleimpl.SimpleNetworkWrapper;
+import net.minecraftforge.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.fml.relauncher.Side;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Network stats
+ *
+ * Counts messages and bytes of Metamorph's network messages per message
+ * type and direction, and per player on the server. Counting handlers are
+ * inserted into the dispatcher's channels around the message codec: the
+ * one between the codec and message handlers knows the type of a message,
+ * while the one before the codec knows its encoded size. Encoding and
+ * decoding are done synchronously, so both halves meet on the same thread.
+ *
+ * Chunks are counted as messages of the type they carry (see
+ * {@link ChunkedTransport}).
+ *
+ * Messages sent to all players are counted once per online player, other
+ * messages which are sent to several players (dimension, tracking, etc.)
+ * are counted only once.
+ *
+ * Server stats can be periodically appended to a CSV file for capacity
+ * planning (see netstats_dump_interval option).
+ */
+public class NetworkStats
+{
+    public static final NetworkStats SERVER = new NetworkStats();
+    public static final NetworkStats CLIENT = new NetworkStats();
+
+    public final Map<Class<?>, Counter> sent = new ConcurrentHashMap<Class<?>, Counter>();
+    public final Map<Class<?>, Counter> received = new ConcurrentHashMap<Class<?>, Counter>();
+
+    /**
+     * Traffic of online players (server side only)
+     */
+    public final Map<UUID, PlayerCounter> players = new ConcurrentHashMap<UUID, PlayerCounter>();
+
+    /**
+     * Messages which are being encoded or decoded on current thread
+     */
+    private final ThreadLocal<Pending> outbound = ThreadLocal.withInitial(Pending::new);
+    private final ThreadLocal<Pending> inbound = ThreadLocal.withInitial(Pending::new);
+
+    /**
+     * Amount of server ticks, used for periodic dumps
+     */
+    private static int ticks;
+
+    public static NetworkStats get(Side side)
+    {
+        return side == Side.CLIENT ? CLIENT : SERVER;
+    }
+
+    /**
+     * Periodically dump server stats to the CSV file, if enabled
+     */
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent event)
+    {
+        int interval = Metamorph.netstatsDumpInterval.get() * 20;
+
+        if (event.phase != Phase.END || interval <= 0)
+        {
+            return;
+        }
+
+        ticks += 1;
+
+        if (ticks >= interval)
+        {
+            ticks = 0;
+            SERVER.dump(Metamorph.proxy.netstats);
+        }
+    }
+
+    /**
+     * Attach counting handlers to channels of given network wrapper. It
+     * should be called after all messages were registered.
+     */
+    public static void attach(SimpleNetworkWrapper wrapper)
+    {
+        try
+        {
+            Map<Side, FMLEmbeddedChannel> channels = ReflectionHelper.getPrivateValue(SimpleNetworkWrapper.class, wrapper, "channels");
+
+            for (Map.Entry<Side, FMLEmbeddedChannel> entry : channels.entrySet())
+            {
+                FMLEmbeddedChannel channel = entry.getValue();
+                String codec = channel.findChannelHandlerNameForType(SimpleIndexedCodec.class);
+                NetworkStats stats = get(entry.getKey());
+
+                channel.pipeline().addBefore(codec, "metamorph:packet_stats", stats.new PacketCounter());
+                channel.pipeline().addAfter(codec, "metamorph:message_stats", stats.new MessageCounter());
+            }
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to attach network stats handlers!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Get players sorted by their total traffic (the biggest first)
+     */
+    public List<PlayerCounter> getTopPlayers(int limit)
+    {
+        List<PlayerCounter> players = new ArrayList<PlayerCounter>(this.players.values());
+
+        players.sort((a, b) -> Long.compare(b.getBytes(), a.getBytes()));
+
+        return players.size() > limit ? players.subList(0, limit) : players;
+    }
+
+    /**
+     * Forget all counted traffic
+     */
+    public void reset()
+    {
+        this.sent.clear();
+        this.received.clear();
+        this.players.clear();
+    }
+
+    /**
+     * Append current counters to given CSV file (values are totals since
+     * the last reset)
+     */
+    public void dump(File file)
+    {
+        StringBuilder builder = new StringBuilder();
+        long time = System.currentTimeMillis() / 1000;
+
+        if (!file.exists())
+        {
+            builder.append("time,kind,name,direction,messages,bytes\n");
+        }
+
+        for (Map.Entry<Class<?>, Counter> entry : this.sent.entrySet())
+        {
+            appendRow(builder, time, "packet", entry.getKey().getSimpleName(), "sent", entry.getValue());
+        }
+
+        for (Map.Entry<Class<?>, Counter> entry : this.received.entrySet())
+        {
+            appendRow(builder, time, "packet", entry.getKey().getSimpleName(), "received", entry.getValue());
+        }
+
+        for (PlayerCounter player : this.players.values())
+        {
+            appendRow(builder, time, "player", player.name, "sent", player.sent);
+            appendRow(builder, time, "player", player.name, "received", player.received);
+        }
+
+        try
+        {
+            file.getParentFile().mkdirs();
+            Files.write(file.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to dump network stats!");
+            e.printStackTrace();
+        }
+    }
+
+    private static void appendRow(StringBuilder builder, long time, String kind, String name, String direction, Counter counter)
+    {
+        builder.append(time).append(',').append(kind).append(',').append(name).append(',').append(direction).append(',');
+        builder.append(counter.messages.get()).append(',').append(counter.bytes.get()).append('\n');
+    }
+
+    /**
+     * Get the type of given message, chunks are counted by the type of the
+     * message they carry
+     */
+    private static Class<?> getType(Object message)
+    {
+        if (message instanceof PacketChunk)
+        {
+            Class<?> type = Dispatcher.CHUNKS.getType((PacketChunk) message);
+
+            if (type != null)
+            {
+                return type;
+            }
+        }
+
+        return message.getClass();
+    }
+
+    private void count(Map<Class<?>, Counter> counters, Class<?> type, long messages, long bytes)
+    {
+        Counter counter = counters.get(type);
+
+        if (counter == null)
+        {
+            counter = counters.computeIfAbsent(type, (key) -> new Counter());
+        }
+
+        counter.add(messages, bytes);
+    }
+
+    /**
+     * Forget traffic of a player who logged out, so counters of players 
+     * who were ever online wouldn't pile up
+     */
+    public void removePlayer(UUID uuid)
+    {
+        this.players.remove(uuid);
+    }
+
+    private PlayerCounter getPlayer(EntityPlayerMP player)
+    {
+        PlayerCounter counter = this.players.get(player.getUniqueID());
+
+        if (counter == null)
+        {
+            counter = this.players.computeIfAbsent(player.getUniqueID(), (key) -> new PlayerCounter(player.getName()));
+        }
+
+        return counter;
+    }
+
+    /**
+     * Messages and bytes counter
+     */
+    public static class Counter
+    {
+        public final AtomicLong messages = new AtomicLong();
+        public final AtomicLong bytes = new AtomicLong();
+
+        public void add(long messages, long bytes)
+        {
+            this.messages.addAndGet(messages);
+            this.bytes.addAndGet(bytes);
+        }
+    }
+
+    /**
+     * Traffic of a player
+     */
+    public static class PlayerCounter
+    {
+        public final String name;
+        public final Counter sent = new Counter();
+        public final Counter received = new Counter();
+
+        public PlayerCounter(String name)
+        {
+            this.name = name;
+        }
+
+        public long getBytes()
+        {
+            return this.sent.bytes.get() + this.received.bytes.get();
+        }
+    }
+
+    /**
+     * Message which is being encoded or decoded
+     */
+    private static class Pending
+    {
+        public Class<?> type;
+        public int bytes;
+        public EntityPlayerMP player;
+    }
+
+    /**
+     * Handler between the codec and message handlers, it sees messages
+     */
+    private class MessageCounter extends ChannelDuplexHandler
+    {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
+        {
+            Pending pending = NetworkStats.this.inbound.get();
+
+            if (msg instanceof IMessage && pending.bytes > 0)
+            {
+                NetworkStats.this.count(NetworkStats.this.received, getType(msg), 1, pending.bytes);
+
+                if (pending.player != null)
+                {
+                    NetworkStats.this.getPlayer(pending.player).received.add(1, pending.bytes);
+                }
+            }
+
+            pending.bytes = 0;
+            pending.player = null;
+
+            super.channelRead(ctx, msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+        {
+            NetworkStats.this.outbound.get().type = getType(msg);
+
+            super.write(ctx, msg, promise);
+        }
+    }
+
+    /**
+     * Handler before the codec, it sees encoded packets
+     */
+    private class PacketCounter extends ChannelDuplexHandler
+    {
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception
+        {
+            if (msg instanceof FMLProxyPacket)
+            {
+                FMLProxyPacket packet = (FMLProxyPacket) msg;
+                Pending pending = NetworkStats.this.inbound.get();
+
+                pending.bytes = packet.payload().readableBytes();
+                pending.player = packet.handler() instanceof NetHandlerPlayServer ? ((NetHandlerPlayServer) packet.handler()).player : null;
+            }
+
+            super.channelRead(ctx, msg);
+        }
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception
+        {
+            Pending pending = NetworkStats.this.outbound.get();
+
+            if (msg instanceof FMLProxyPacket && pending.type != null)
+            {
+                int bytes = ((FMLProxyPacket) msg).payload().readableBytes();
+                OutboundTarget target = ctx.channel().attr(FMLOutboundHandler.FML_MESSAGETARGET).get();
+                Object args = ctx.channel().attr(FMLOutboundHandler.FML_MESSAGETARGETARGS).get();
+                long recipients = 1;
+
+                if (target == OutboundTarget.PLAYER && args instanceof EntityPlayerMP)
+                {
+                    NetworkStats.this.getPlayer((EntityPlayerMP) args).sent.add(1, bytes);
+                }
+                else if (target == OutboundTarget.ALL)
+                {
+                    MinecraftServer server = FMLCommonHandler.instance().getMinecraftServerInstance();
+
+                    recipients = server == null ? 1 : Math.max(server.getCurrentPlayerCount(), 1);
+                }
+
+                NetworkStats.this.count(NetworkStats.this.sent, pending.type, recipients, bytes * recipients);
+            }
+
+            pending.type = null;
+
+            super.write(ctx, msg, promise);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package mchorse.metamorph.network.client;
+
+import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.PacketChunk;
+import net.minecraft.client.entity.EntityPlayerSP;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+/**
+ * Client handler chunk
+ * 
+ * Assembles chunked messages from the server, and passes them to their 
+ * handlers.
+ */
+public class ClientHandlerChunk extends ClientMessageHandler<PacketChunk>
+{
+    @Override
+    @SideOnly(Side.CLIENT)
+    public void run(EntityPlayerSP player, PacketChunk message)
+    {
+        IMessage assembled = Dispatcher.CHUNKS.receive(Side.SERVER, message);
+
+        if (assembled != null)
+        {
+            ClientMessageHandler<IMessage> handler = Dispatcher.CHUNKS.getClientHandler(assembled);
+
+            if (handler != null)
+            {
+                handler.run(player, assembled);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package mchorse.metamorph.network.client;
+
+import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.network.ConfigSync;
+import mchorse.metamorph.network.common.PacketConfig;
+import net.minecraft.client.entity.EntityPlayerSP;
+
+public class ClientHandlerConfig extends ClientMessageHandler<PacketConfig>
+{
+    @Override
+    public void run(EntityPlayerSP player, PacketConfig message)
+    {
+        ConfigSync.apply(message.payload);
+        ConfigSync.save(message.payload);
+    }
+}
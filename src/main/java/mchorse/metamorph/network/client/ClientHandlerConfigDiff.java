@@ -0,0 +1,52 @@
+package mchorse.metamorph.network.client;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.MorphSettings;
+import mchorse.metamorph.network.common.PacketConfigDiff;
+import net.minecraft.client.entity.EntityPlayerSP;
+
+public class ClientHandlerConfigDiff extends ClientMessageHandler<PacketConfigDiff>
+{
+    @Override
+    public void run(EntityPlayerSP player, PacketConfigDiff message)
+    {
+        MorphManager manager = MorphManager.INSTANCE;
+
+        if (!message.settings.isEmpty() || !message.removedSettings.isEmpty())
+        {
+            Map<String, MorphSettings> settings = new HashMap<String, MorphSettings>(manager.activeSettings);
+
+            settings.keySet().removeAll(message.removedSettings);
+            settings.putAll(message.settings);
+            manager.setActiveSettings(settings);
+        }
+
+        if (!message.blacklisted.isEmpty() || !message.unblacklisted.isEmpty())
+        {
+            Set<String> blacklist = new HashSet<String>(manager.activeBlacklist);
+
+            blacklist.removeAll(message.unblacklisted);
+            blacklist.addAll(message.blacklisted);
+            manager.setActiveBlacklist(blacklist);
+        }
+
+        if (message.replaceRemap)
+        {
+            manager.setActiveMap(message.remap);
+        }
+        else if (!message.remap.isEmpty() || !message.removedRemap.isEmpty())
+        {
+            Map<String, String> map = new HashMap<String, String>(manager.activeMap);
+
+            map.keySet().removeAll(message.removedRemap);
+            map.putAll(message.remap);
+            manager.setActiveMap(map);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package mchorse.metamorph.network.client;
+
+import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.network.ConfigSync;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.PacketConfigDigest;
+import mchorse.metamorph.network.common.PacketConfigRequest;
+import net.minecraft.client.entity.EntityPlayerSP;
+
+/**
+ * Client handler config digest
+ * 
+ * Uses cached morph blacklist and settings of the server if the digest 
+ * matches, otherwise requests them from the server.
+ */
+public class ClientHandlerConfigDigest extends ClientMessageHandler<PacketConfigDigest>
+{
+    @Override
+    public void run(EntityPlayerSP player, PacketConfigDigest message)
+    {
+        byte[] payload = ConfigSync.load(message.digest);
+
+        if (payload != null)
+        {
+            ConfigSync.apply(payload);
+        }
+        else
+        {
+            Dispatcher.sendToServer(new PacketConfigRequest());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package mchorse.metamorph.network.client.creative;
 
 import mchorse.mclib.network.ClientMessageHandler;
 import mchorse.metamorph.ClientProxy;
+import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
 import mchorse.metamorph.network.common.creative.PacketAcquireMorph;
@@ -17,8 +18,12 @@ public class ClientHandlerAcquireMorph extends ClientMessageHandler<PacketAcquir
     {
         IMorphing morphing = Morphing.get(player);
 
-        morphing.acquireMorph(message.morph);
+        morphing.acquireMorph(message.morph, message.id);
+        MorphManager.INSTANCE.list.invalidateKeybinds();
 
-        ClientProxy.morphOverlay.add(message.morph);
+        if (message.notify)
+        {
+            ClientProxy.morphOverlay.add(message.morph);
+        }
     }
 }
\ No newline at end of file
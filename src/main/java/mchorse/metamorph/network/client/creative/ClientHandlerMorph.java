@@ -3,6 +3,7 @@ package mchorse.metamorph.network.client.creative;
 import mchorse.mclib.network.ClientMessageHandler;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.client.MorphPrediction;
 import mchorse.metamorph.network.common.creative.PacketMorph;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraftforge.fml.relauncher.Side;
@@ -16,7 +17,8 @@ public class ClientHandlerMorph extends ClientMessageHandler<PacketMorph>
     {
         IMorphing capability = Morphing.get(player);
 
-        if (capability != null)
+        /* Keep showing predicted morph until the server confirms it */
+        if (capability != null && !MorphPrediction.INSTANCE.morph(message.morph))
         {
             capability.setCurrentMorph(message.morph, player, true);
         }
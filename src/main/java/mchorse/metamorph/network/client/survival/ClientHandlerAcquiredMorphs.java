@@ -1,8 +1,10 @@
 package mchorse.metamorph.network.client.survival;
 
 import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.client.MorphPreloader;
 import mchorse.metamorph.network.common.survival.PacketAcquiredMorphs;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraftforge.fml.relauncher.Side;
@@ -16,6 +18,8 @@ public class ClientHandlerAcquiredMorphs extends ClientMessageHandler<PacketAcqu
     {
         IMorphing morphing = Morphing.get(player);
 
-        morphing.setAcquiredMorphs(message.morphs);
+        morphing.setAcquiredMorphs(message.morphs, message.ids);
+        MorphManager.INSTANCE.list.invalidateKeybinds();
+        MorphPreloader.INSTANCE.preloadAcquired(morphing);
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package mchorse.metamorph.network.client.survival;
+
+import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.client.MorphPrediction;
+import mchorse.metamorph.network.common.survival.PacketConfirmMorph;
+import net.minecraft.client.entity.EntityPlayerSP;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+
+public class ClientHandlerConfirmMorph extends ClientMessageHandler<PacketConfirmMorph>
+{
+    @Override
+    @SideOnly(Side.CLIENT)
+    public void run(EntityPlayerSP player, PacketConfirmMorph message)
+    {
+        MorphPrediction.INSTANCE.confirm(player, message.sequence, message.accepted);
+    }
+}
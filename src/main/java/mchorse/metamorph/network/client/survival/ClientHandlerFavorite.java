@@ -1,7 +1,10 @@
 package mchorse.metamorph.network.client.survival;
 
 import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.client.MorphPreloader;
 import mchorse.metamorph.network.common.survival.PacketFavorite;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraftforge.fml.relauncher.Side;
@@ -13,6 +16,10 @@ public class ClientHandlerFavorite extends ClientMessageHandler<PacketFavorite>
     @SideOnly(Side.CLIENT)
     public void run(EntityPlayerSP player, PacketFavorite message)
     {
-        Morphing.get(player).favorite(message.index);
+        IMorphing morphing = Morphing.get(player);
+
+        morphing.favorite(message.id);
+        MorphManager.INSTANCE.list.invalidateKeybinds();
+        MorphPreloader.INSTANCE.preload(morphing.getAcquiredMorph(message.id));
     }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package mchorse.metamorph.network.client.survival;
 
 import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.client.MorphPreloader;
 import mchorse.metamorph.network.common.survival.PacketKeybind;
 import net.minecraft.client.entity.EntityPlayerSP;
 import net.minecraftforge.fml.relauncher.Side;
@@ -13,6 +16,10 @@ public class ClientHandlerKeybind extends ClientMessageHandler<PacketKeybind>
     @SideOnly(Side.CLIENT)
     public void run(EntityPlayerSP player, PacketKeybind message)
     {
-        Morphing.get(player).keybind(message.index, message.keybind);
+        IMorphing morphing = Morphing.get(player);
+
+        morphing.keybind(message.id, message.keybind);
+        MorphManager.INSTANCE.list.invalidateKeybinds();
+        MorphPreloader.INSTANCE.preload(morphing.getAcquiredMorph(message.id));
     }
 }
\ No newline at end of file
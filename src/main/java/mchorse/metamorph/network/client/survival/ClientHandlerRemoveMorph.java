@@ -1,6 +1,7 @@
 package mchorse.metamorph.network.client.survival;
 
 import mchorse.mclib.network.ClientMessageHandler;
+import mchorse.metamorph.api.MorphManager;
 import mchorse.metamorph.capabilities.morphing.Morphing;
 import mchorse.metamorph.network.common.survival.PacketRemoveMorph;
 import net.minecraft.client.entity.EntityPlayerSP;
@@ -13,6 +14,7 @@ public class ClientHandlerRemoveMorph extends ClientMessageHandler<PacketRemoveM
     @SideOnly(Side.CLIENT)
     public void run(EntityPlayerSP player, PacketRemoveMorph message)
     {
-        Morphing.get(player).remove(message.index);
+        Morphing.get(player).remove(message.id);
+        MorphManager.INSTANCE.list.invalidateKeybinds();
     }
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package mchorse.metamorph.network.common;
 
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
-import java.util.TreeSet;
 
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.common.network.ByteBufUtils;
@@ -10,7 +10,7 @@ import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 
 public class PacketBlacklist implements IMessage
 {
-    public Set<String> blacklist = new TreeSet<String>();
+    public Set<String> blacklist = new HashSet<String>();
 
     public PacketBlacklist()
     {}
@@ -0,0 +1,76 @@
+package mchorse.metamorph.network.common;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Packet that contains a piece of a large (possibly compressed) message
+ * 
+ * @see mchorse.metamorph.network.ChunkedTransport
+ */
+public class PacketChunk implements IMessage
+{
+    /**
+     * ID of the transfer this chunk belongs to
+     */
+    public int id;
+
+    /**
+     * Index of this chunk, and how many chunks the transfer has
+     */
+    public int index;
+    public int count;
+
+    /**
+     * Type of the message (index of message's class in chunked transport)
+     */
+    public int type;
+
+    /**
+     * Whether message's data is deflated, and the size of inflated data
+     */
+    public boolean compressed;
+    public int length;
+
+    public byte[] data;
+
+    public PacketChunk()
+    {}
+
+    public PacketChunk(int id, int index, int count, int type, boolean compressed, int length, byte[] data)
+    {
+        this.id = id;
+        this.index = index;
+        this.count = count;
+        this.type = type;
+        this.compressed = compressed;
+        this.length = length;
+        this.data = data;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        this.id = buf.readInt();
+        this.index = buf.readInt();
+        this.count = buf.readInt();
+        this.type = buf.readInt();
+        this.compressed = buf.readBoolean();
+        this.length = buf.readInt();
+        this.data = new byte[buf.readableBytes()];
+
+        buf.readBytes(this.data);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeInt(this.id);
+        buf.writeInt(this.index);
+        buf.writeInt(this.count);
+        buf.writeInt(this.type);
+        buf.writeBoolean(this.compressed);
+        buf.writeInt(this.length);
+        buf.writeBytes(this.data);
+    }
+}
@@ -0,0 +1,37 @@
+package mchorse.metamorph.network.common;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Packet that sends encoded morph blacklist and settings
+ * 
+ * @see mchorse.metamorph.network.ConfigSync
+ */
+public class PacketConfig implements IMessage
+{
+    public byte[] payload;
+
+    public PacketConfig()
+    {}
+
+    public PacketConfig(byte[] payload)
+    {
+        this.payload = payload;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        this.payload = new byte[buf.readInt()];
+
+        buf.readBytes(this.payload);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeInt(this.payload.length);
+        buf.writeBytes(this.payload);
+    }
+}
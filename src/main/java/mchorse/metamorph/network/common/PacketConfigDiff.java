@@ -0,0 +1,114 @@
+package mchorse.metamorph.network.common;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.netty.buffer.ByteBuf;
+import mchorse.metamorph.api.MorphSettings;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Packet that sends changes of morph settings, blacklist and remapper
+ *
+ * Only entries which were added, changed or removed since the last reload
+ * are sent. On login, it carries the whole remapper instead, which
+ * replaces client's remapper (so remapper of a previous server wouldn't
+ * stay active).
+ */
+public class PacketConfigDiff implements IMessage
+{
+    public Map<String, MorphSettings> settings = new HashMap<String, MorphSettings>();
+    public Set<String> removedSettings = new HashSet<String>();
+
+    public Set<String> blacklisted = new HashSet<String>();
+    public Set<String> unblacklisted = new HashSet<String>();
+
+    public Map<String, String> remap = new HashMap<String, String>();
+    public Set<String> removedRemap = new HashSet<String>();
+
+    /**
+     * Whether {@link #remap} is the whole remapper, rather than changes
+     */
+    public boolean replaceRemap;
+
+    public PacketConfigDiff()
+    {}
+
+    public boolean isEmpty()
+    {
+        return !this.replaceRemap && this.settings.isEmpty() && this.removedSettings.isEmpty() && this.blacklisted.isEmpty() && this.unblacklisted.isEmpty() && this.remap.isEmpty() && this.removedRemap.isEmpty();
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        for (int i = 0, c = buf.readInt(); i < c; i++)
+        {
+            String key = ByteBufUtils.readUTF8String(buf);
+            MorphSettings setting = new MorphSettings();
+
+            setting.fromBytes(buf);
+            this.settings.put(key, setting);
+        }
+
+        this.readStrings(buf, this.removedSettings);
+        this.readStrings(buf, this.blacklisted);
+        this.readStrings(buf, this.unblacklisted);
+
+        for (int i = 0, c = buf.readInt(); i < c; i++)
+        {
+            this.remap.put(ByteBufUtils.readUTF8String(buf), ByteBufUtils.readUTF8String(buf));
+        }
+
+        this.readStrings(buf, this.removedRemap);
+        this.replaceRemap = buf.readBoolean();
+    }
+
+    private void readStrings(ByteBuf buf, Set<String> strings)
+    {
+        for (int i = 0, c = buf.readInt(); i < c; i++)
+        {
+            strings.add(ByteBufUtils.readUTF8String(buf));
+        }
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeInt(this.settings.size());
+
+        for (Map.Entry<String, MorphSettings> setting : this.settings.entrySet())
+        {
+            ByteBufUtils.writeUTF8String(buf, setting.getKey());
+            setting.getValue().toBytes(buf);
+        }
+
+        this.writeStrings(buf, this.removedSettings);
+        this.writeStrings(buf, this.blacklisted);
+        this.writeStrings(buf, this.unblacklisted);
+
+        buf.writeInt(this.remap.size());
+
+        for (Map.Entry<String, String> entry : this.remap.entrySet())
+        {
+            ByteBufUtils.writeUTF8String(buf, entry.getKey());
+            ByteBufUtils.writeUTF8String(buf, entry.getValue());
+        }
+
+        this.writeStrings(buf, this.removedRemap);
+        buf.writeBoolean(this.replaceRemap);
+    }
+
+    private void writeStrings(ByteBuf buf, Set<String> strings)
+    {
+        buf.writeInt(strings.size());
+
+        for (String string : strings)
+        {
+            ByteBufUtils.writeUTF8String(buf, string);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package mchorse.metamorph.network.common;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.ByteBufUtils;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Packet that sends digest of server's morph blacklist and settings 
+ */
+public class PacketConfigDigest implements IMessage
+{
+    public String digest = "";
+
+    public PacketConfigDigest()
+    {}
+
+    public PacketConfigDigest(String digest)
+    {
+        this.digest = digest;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        this.digest = ByteBufUtils.readUTF8String(buf);
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        ByteBufUtils.writeUTF8String(buf, this.digest);
+    }
+}
@@ -0,0 +1,22 @@
+package mchorse.metamorph.network.common;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Packet that requests server's morph blacklist and settings, when client 
+ * doesn't have them cached 
+ */
+public class PacketConfigRequest implements IMessage
+{
+    public PacketConfigRequest()
+    {}
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {}
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {}
+}
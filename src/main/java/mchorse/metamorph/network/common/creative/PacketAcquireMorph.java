@@ -10,6 +10,11 @@ public class PacketAcquireMorph extends PacketMorph
 {
     public boolean notify;
 
+    /**
+     * ID of acquired morph (it's assigned by the server)
+     */
+    public int id = -1;
+
     public PacketAcquireMorph()
     {
         super();
@@ -27,12 +32,20 @@ public class PacketAcquireMorph extends PacketMorph
         this.notify = notify;
     }
 
+    public PacketAcquireMorph(AbstractMorph morph, boolean notify, int id)
+    {
+        this(morph, notify);
+
+        this.id = id;
+    }
+
     @Override
     public void fromBytes(ByteBuf buf)
     {
         super.fromBytes(buf);
 
         this.notify = buf.readBoolean();
+        this.id = buf.readInt();
     }
 
     @Override
@@ -41,5 +54,6 @@ public class PacketAcquireMorph extends PacketMorph
         super.toBytes(buf);
 
         buf.writeBoolean(this.notify);
+        buf.writeInt(this.id);
     }
 }
\ No newline at end of file
@@ -5,15 +5,15 @@ import mchorse.metamorph.api.morphs.AbstractMorph;
 
 public class PacketSyncMorph extends PacketMorph
 {
-	public int index;
+	public int id;
 
 	public PacketSyncMorph()
 	{}
 
-	public PacketSyncMorph(AbstractMorph morph, int index)
+	public PacketSyncMorph(AbstractMorph morph, int id)
 	{
 		super(morph);
-		this.index = index;
+		this.id = id;
 	}
 
 	@Override
@@ -21,7 +21,7 @@ public class PacketSyncMorph extends PacketMorph
 	{
 		super.fromBytes(buf);
 
-		this.index = buf.readInt();
+		this.id = buf.readInt();
 	}
 
 	@Override
@@ -29,6 +29,6 @@ public class PacketSyncMorph extends PacketMorph
 	{
 		super.toBytes(buf);
 
-		buf.writeInt(this.index);
+		buf.writeInt(this.id);
 	}
 }
\ No newline at end of file
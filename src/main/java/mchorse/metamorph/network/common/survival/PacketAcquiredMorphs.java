@@ -3,9 +3,11 @@ package mchorse.metamorph.network.common.survival;
 import io.netty.buffer.ByteBuf;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -15,28 +17,46 @@ public class PacketAcquiredMorphs implements IMessage
 {
     public List<AbstractMorph> morphs;
 
+    /**
+     * IDs of morphs (in the same order)
+     */
+    public int[] ids;
+
     public PacketAcquiredMorphs()
     {
         this.morphs = new ArrayList<AbstractMorph>();
     }
 
-    public PacketAcquiredMorphs(List<AbstractMorph> morphs)
+    public PacketAcquiredMorphs(IMorphing morphing)
     {
-        this.morphs = morphs;
+        this.morphs = morphing.getAcquiredMorphs();
+        this.ids = new int[this.morphs.size()];
+
+        for (int i = 0; i < this.ids.length; i++)
+        {
+            this.ids[i] = morphing.getAcquiredId(this.morphs.get(i));
+        }
     }
 
     @Override
     public void fromBytes(ByteBuf buf)
     {
-        for (int i = 0, c = buf.readInt(); i < c; i++)
+        int count = buf.readInt();
+        int[] ids = new int[count];
+
+        for (int i = 0; i < count; i++)
         {
+            int id = buf.readInt();
             AbstractMorph morph = MorphUtils.morphFromBuf(buf);
 
             if (morph != null)
             {
+                ids[this.morphs.size()] = id;
                 this.morphs.add(morph);
             }
         }
+
+        this.ids = Arrays.copyOf(ids, this.morphs.size());
     }
 
     @Override
@@ -44,9 +64,10 @@ public class PacketAcquiredMorphs implements IMessage
     {
         buf.writeInt(this.morphs.size());
 
-        for (AbstractMorph morph : this.morphs)
+        for (int i = 0; i < this.morphs.size(); i++)
         {
-            MorphUtils.morphToBuf(buf, morph);
+            buf.writeInt(this.ids[i]);
+            MorphUtils.morphToBuf(buf, this.morphs.get(i));
         }
     }
 }
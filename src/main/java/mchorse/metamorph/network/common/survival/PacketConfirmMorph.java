@@ -0,0 +1,36 @@
+package mchorse.metamorph.network.common.survival;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Packet that confirms or rejects client's predicted morph selection
+ */
+public class PacketConfirmMorph implements IMessage
+{
+    public int sequence;
+    public boolean accepted;
+
+    public PacketConfirmMorph()
+    {}
+
+    public PacketConfirmMorph(int sequence, boolean accepted)
+    {
+        this.sequence = sequence;
+        this.accepted = accepted;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
+    {
+        this.sequence = buf.readInt();
+        this.accepted = buf.readBoolean();
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        buf.writeInt(this.sequence);
+        buf.writeBoolean(this.accepted);
+    }
+}
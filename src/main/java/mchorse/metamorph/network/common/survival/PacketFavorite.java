@@ -10,8 +10,8 @@ public class PacketFavorite extends PacketIndex
         super();
     }
 
-    public PacketFavorite(int index)
+    public PacketFavorite(int id)
     {
-        super(index);
+        super(id);
     }
 }
\ No newline at end of file
@@ -3,27 +3,34 @@ package mchorse.metamorph.network.common.survival;
 import io.netty.buffer.ByteBuf;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 
+/**
+ * Packet which refers to an acquired morph by its ID
+ * 
+ * IDs are assigned by the server when morphs get acquired, so they stay 
+ * valid when other morphs get acquired or removed. -1 doesn't refer to any 
+ * morph.
+ */
 public abstract class PacketIndex implements IMessage
 {
-	public int index;
+	public int id;
 
 	public PacketIndex()
 	{}
 
-	public PacketIndex(int index)
+	public PacketIndex(int id)
 	{
-		this.index = index;
+		this.id = id;
 	}
 
 	@Override
 	public void fromBytes(ByteBuf buf)
 	{
-		this.index = buf.readInt();
+		this.id = buf.readInt();
 	}
 
 	@Override
 	public void toBytes(ByteBuf buf)
 	{
-		buf.writeInt(index);
+		buf.writeInt(this.id);
 	}
 }
\ No newline at end of file
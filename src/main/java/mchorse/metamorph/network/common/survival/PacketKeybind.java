@@ -11,9 +11,9 @@ public class PacketKeybind extends PacketIndex
 		super();
 	}
 
-	public PacketKeybind(int index, int keybind)
+	public PacketKeybind(int id, int keybind)
 	{
-		super(index);
+		super(id);
 
 		this.keybind = keybind;
 	}
@@ -7,8 +7,8 @@ public class PacketRemoveMorph extends PacketIndex
         super();
     }
 
-    public PacketRemoveMorph(int index)
+    public PacketRemoveMorph(int id)
     {
-        super(index);
+        super(id);
     }
 }
\ No newline at end of file
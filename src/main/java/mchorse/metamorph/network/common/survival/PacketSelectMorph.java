@@ -1,14 +1,45 @@
 package mchorse.metamorph.network.common.survival;
 
+import io.netty.buffer.ByteBuf;
+
 public class PacketSelectMorph extends PacketIndex
 {
+    /**
+     * Sequence number of client's predicted selection (0 if the client 
+     * doesn't predict it)
+     */
+    public int sequence;
+
     public PacketSelectMorph()
     {
         super();
     }
 
-    public PacketSelectMorph(int index)
+    public PacketSelectMorph(int id)
+    {
+        super(id);
+    }
+
+    public PacketSelectMorph(int id, int sequence)
+    {
+        super(id);
+
+        this.sequence = sequence;
+    }
+
+    @Override
+    public void fromBytes(ByteBuf buf)
     {
-        super(index);
+        super.fromBytes(buf);
+
+        this.sequence = buf.readInt();
+    }
+
+    @Override
+    public void toBytes(ByteBuf buf)
+    {
+        super.toBytes(buf);
+
+        buf.writeInt(this.sequence);
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package mchorse.metamorph.network.server;
+
+import mchorse.mclib.network.ServerMessageHandler;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.PacketChunk;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+
+/**
+ * Server handler chunk
+ * 
+ * Assembles chunked messages from players, and passes them to their 
+ * handlers.
+ */
+public class ServerHandlerChunk extends ServerMessageHandler<PacketChunk>
+{
+    @Override
+    public void run(EntityPlayerMP player, PacketChunk message)
+    {
+        IMessage assembled = Dispatcher.CHUNKS.receive(player.getUniqueID(), message);
+
+        if (assembled != null)
+        {
+            ServerMessageHandler<IMessage> handler = Dispatcher.CHUNKS.getServerHandler(assembled);
+
+            if (handler != null)
+            {
+                handler.run(player, assembled);
+            }
+        }
+    }
+}
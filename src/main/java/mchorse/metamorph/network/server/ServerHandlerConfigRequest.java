@@ -0,0 +1,17 @@
+package mchorse.metamorph.network.server;
+
+import mchorse.mclib.network.ServerMessageHandler;
+import mchorse.metamorph.network.ConfigSync;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.PacketConfig;
+import mchorse.metamorph.network.common.PacketConfigRequest;
+import net.minecraft.entity.player.EntityPlayerMP;
+
+public class ServerHandlerConfigRequest extends ServerMessageHandler<PacketConfigRequest>
+{
+    @Override
+    public void run(EntityPlayerMP player, PacketConfigRequest message)
+    {
+        Dispatcher.sendTo(new PacketConfig(ConfigSync.getPayload()), player);
+    }
+}
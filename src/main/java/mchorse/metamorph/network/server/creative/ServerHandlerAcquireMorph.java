@@ -18,7 +18,7 @@ public class ServerHandlerAcquireMorph extends ServerMessageHandler<PacketAcquir
     {
         if (player.isCreative() || player.isSpectator())
         {
-            MorphAPI.acquire(player, message.morph);
+            MorphAPI.acquire(player, message.morph, message.notify);
         }
     }
 }
\ No newline at end of file
@@ -15,7 +15,7 @@ public class ServerHandlerSyncMorph extends ServerMessageHandler<PacketSyncMorph
 
 		if (cap != null && message.morph != null)
 		{
-			cap.getAcquiredMorphs().set(message.index, message.morph);
+			cap.setAcquiredMorph(message.id, message.morph);
 		}
 	}
 }
\ No newline at end of file
@@ -11,7 +11,7 @@ public class ServerHandlerFavorite extends ServerMessageHandler<PacketFavorite>
     @Override
     public void run(EntityPlayerMP player, PacketFavorite message)
     {
-        Morphing.get(player).favorite(message.index);
+        Morphing.get(player).favorite(message.id);
         Dispatcher.sendTo(message, player);
     }
 }
\ No newline at end of file
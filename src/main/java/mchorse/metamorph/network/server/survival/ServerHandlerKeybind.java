@@ -11,7 +11,7 @@ public class ServerHandlerKeybind extends ServerMessageHandler<PacketKeybind>
 	@Override
 	public void run(EntityPlayerMP player, PacketKeybind message)
 	{
-		Morphing.get(player).keybind(message.index, message.keybind);
+		Morphing.get(player).keybind(message.id, message.keybind);
 		Dispatcher.sendTo(message, player);
 	}
 }
\ No newline at end of file
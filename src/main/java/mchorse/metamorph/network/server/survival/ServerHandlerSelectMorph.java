@@ -1,13 +1,13 @@
 package mchorse.metamorph.network.server.survival;
 
-import java.util.List;
-
 import mchorse.mclib.network.ServerMessageHandler;
 import mchorse.metamorph.api.MorphAPI;
 import mchorse.metamorph.api.MorphUtils;
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
 import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.survival.PacketConfirmMorph;
 import mchorse.metamorph.network.common.survival.PacketSelectMorph;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.world.GameType;
@@ -17,22 +17,19 @@ public class ServerHandlerSelectMorph extends ServerMessageHandler<PacketSelectM
     @Override
     public void run(EntityPlayerMP player, PacketSelectMorph message)
     {
-        if (player.interactionManager.getGameType() == GameType.ADVENTURE)
-        {
-            return;
-        }
+        boolean morphed = false;
 
-        int index = message.index;
+        if (player.interactionManager.getGameType() != GameType.ADVENTURE)
+        {
+            IMorphing capability = Morphing.get(player);
+            AbstractMorph morph = capability.getAcquiredMorph(message.id);
 
-        IMorphing capability = Morphing.get(player);
-        List<AbstractMorph> morphs = capability.getAcquiredMorphs();
-        AbstractMorph morph = null;
+            morphed = MorphAPI.morph(player, MorphUtils.copy(morph), false);
+        }
 
-        if (!morphs.isEmpty() && index >= 0 && index < morphs.size())
+        if (message.sequence != 0)
         {
-            morph = morphs.get(index);
+            Dispatcher.sendTo(new PacketConfirmMorph(message.sequence, morphed), player);
         }
-
-        MorphAPI.morph(player, MorphUtils.copy(morph), false);
     }
 }
\ No newline at end of file
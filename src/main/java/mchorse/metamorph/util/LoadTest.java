@@ -0,0 +1,442 @@
+package mchorse.metamorph.util;
+
+import com.mojang.authlib.GameProfile;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import mchorse.mclib.network.ServerMessageHandler;
+import mchorse.metamorph.Metamorph;
+import mchorse.metamorph.api.MorphAPI;
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.metamorph.capabilities.morphing.IMorphing;
+import mchorse.metamorph.capabilities.morphing.Morphing;
+import mchorse.metamorph.network.Dispatcher;
+import mchorse.metamorph.network.common.PacketChunk;
+import mchorse.metamorph.network.common.survival.PacketAcquiredMorphs;
+import mchorse.metamorph.network.common.survival.PacketAction;
+import mchorse.metamorph.network.common.survival.PacketSelectMorph;
+import mchorse.metamorph.network.server.survival.ServerHandlerAction;
+import mchorse.metamorph.network.server.survival.ServerHandlerSelectMorph;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.entity.EntityLivingBase;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.GameType;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ServerTickEvent;
+import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
+import net.minecraftforge.fml.common.registry.EntityEntry;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Load test
+ *
+ * Simulates a lot of morphing players on a server, which doesn't need
+ * real clients, so it can run on a headless dedicated server (gradle
+ * runServer). Fake players acquire, morph, demorph and use actions at
+ * given rate through the same message handlers and API real players go
+ * through, and get ticked like real players. Messages between the server
+ * and fake players are encoded (and chunked) like real ones, but they're
+ * looped back in memory through {@link Dispatcher#fakePlayerHook}, which
+ * is installed only while the load test runs.
+ *
+ * It can be started only if load_test debug option is enabled.
+ *
+ * Every {@link #REPORT_INTERVAL} ticks it reports milliseconds per tick,
+ * allocation rate of the server thread and traffic of fake players, so
+ * different builds of Metamorph can be compared under the same load.
+ */
+public class LoadTest
+{
+    public static final LoadTest INSTANCE = new LoadTest();
+
+    /**
+     * How often (in ticks) statistics are reported
+     */
+    public static final int REPORT_INTERVAL = 100;
+
+    private List<FakePlayer> players = new ArrayList<FakePlayer>();
+    private Set<EntityPlayerMP> fakes = Collections.newSetFromMap(new IdentityHashMap<EntityPlayerMP, Boolean>());
+    private List<NBTTagCompound> corpus = new ArrayList<NBTTagCompound>();
+    private Random random = new Random(0);
+    private ICommandSender sender;
+
+    private volatile boolean running;
+    private float rate;
+    private int sequence;
+
+    /* Statistics of the current report interval */
+    private long tickStart;
+    private long tickTime;
+    private long maxTickTime;
+    private int ticks;
+    private long allocated = -1;
+    private long bytesSent;
+    private long messagesSent;
+    private long bytesReceived;
+    private long messagesReceived;
+
+    public boolean isRunning()
+    {
+        return this.running;
+    }
+
+    /**
+     * Take over a message sent to given player, if it's a fake player of
+     * the load test
+     */
+    private boolean intercept(EntityPlayerMP player, IMessage message)
+    {
+        if (!this.fakes.contains(player))
+        {
+            return false;
+        }
+
+        Dispatcher.CHUNKS.send(message, this::receive);
+
+        return true;
+    }
+
+    /**
+     * Start the load test with given amount of fake players, acquired
+     * morphs per player and actions per player per second
+     */
+    public void start(WorldServer world, ICommandSender sender, int players, int morphs, float rate)
+    {
+        this.stop();
+
+        this.sender = sender;
+        this.rate = rate;
+        this.createCorpus(morphs * 2);
+
+        if (this.corpus.isEmpty())
+        {
+            this.report("There are no entity morphs to test with!");
+
+            return;
+        }
+
+        BlockPos spawn = world.getSpawnPoint();
+
+        for (int i = 0; i < players; i++)
+        {
+            String name = "loadtest_" + i;
+            FakePlayer player = new FakePlayer(world, new GameProfile(UUID.nameUUIDFromBytes(name.getBytes()), name));
+
+            player.interactionManager.setGameType(GameType.SURVIVAL);
+            player.setPosition(spawn.getX() + 0.5, world.getTopSolidOrLiquidBlock(spawn).getY(), spawn.getZ() + 0.5);
+            this.players.add(player);
+            this.fakes.add(player);
+        }
+
+        this.running = true;
+        Dispatcher.fakePlayerHook = this::intercept;
+        this.tickStart = 0;
+        this.resetStats();
+
+        /* Acquire initial morphs and sync them like on login */
+        for (FakePlayer player : this.players)
+        {
+            IMorphing morphing = Morphing.get(player);
+
+            if (morphing == null)
+            {
+                continue;
+            }
+
+            for (int i = 0; i < morphs; i++)
+            {
+                morphing.acquireMorph(this.createMorph(i));
+            }
+
+            Dispatcher.sendTo(new PacketAcquiredMorphs(morphing), player);
+        }
+
+        this.report(String.format("Load test started: %d players, %d morphs each, %.1f actions per player per second", players, morphs, rate));
+    }
+
+    /**
+     * Stop the load test and forget fake players
+     */
+    public void stop()
+    {
+        if (!this.running)
+        {
+            return;
+        }
+
+        this.running = false;
+        Dispatcher.fakePlayerHook = null;
+
+        if (this.ticks > 0)
+        {
+            this.reportStats();
+        }
+
+        this.players.clear();
+        this.fakes.clear();
+        this.corpus.clear();
+        this.report("Load test stopped");
+        this.sender = null;
+    }
+
+    /**
+     * Create corpus of entity morph tags out of all registered living
+     * entities. Morphs of the same entity get different entity data, so
+     * every one of them is a distinct acquired morph.
+     */
+    private void createCorpus(int size)
+    {
+        List<String> names = new ArrayList<String>();
+
+        this.corpus.clear();
+
+        for (EntityEntry entry : ForgeRegistries.ENTITIES.getValues())
+        {
+            String name = entry.getRegistryName().toString();
+
+            if (EntityLivingBase.class.isAssignableFrom(entry.getEntityClass()) && MorphManager.INSTANCE.hasMorph(name) && !name.equals("minecraft:player"))
+            {
+                names.add(name);
+            }
+        }
+
+        if (names.isEmpty())
+        {
+            return;
+        }
+
+        Collections.sort(names);
+
+        for (int i = 0; i < size; i++)
+        {
+            NBTTagCompound tag = new NBTTagCompound();
+            NBTTagCompound data = new NBTTagCompound();
+
+            data.setInteger("LoadTestVariant", i / names.size());
+            tag.setString("Name", names.get(i % names.size()));
+            tag.setTag("EntityData", data);
+
+            this.corpus.add(tag);
+        }
+    }
+
+    private AbstractMorph createMorph(int index)
+    {
+        return MorphManager.INSTANCE.morphFromNBT(this.corpus.get(index % this.corpus.size()).copy());
+    }
+
+    /**
+     * Receive a message which was sent by the server to a fake player.
+     * Client side handling isn't simulated, only the traffic is counted.
+     */
+    public void receive(IMessage message)
+    {
+        this.bytesSent += this.encode(message).readableBytes();
+        this.messagesSent += 1;
+    }
+
+    /**
+     * Send a message from given fake player to the server, it gets encoded
+     * and decoded (and assembled, if it was chunked), and handled right
+     * away
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends IMessage> void send(FakePlayer player, T message, ServerMessageHandler<T> handler)
+    {
+        Dispatcher.CHUNKS.send(message, (packet) ->
+        {
+            ByteBuf buf = this.encode(packet);
+
+            this.bytesReceived += buf.readableBytes();
+            this.messagesReceived += 1;
+
+            try
+            {
+                IMessage decoded = packet.getClass().newInstance();
+
+                decoded.fromBytes(buf);
+
+                if (decoded instanceof PacketChunk)
+                {
+                    IMessage assembled = Dispatcher.CHUNKS.receive(player.getUniqueID(), (PacketChunk) decoded);
+
+                    if (assembled != null)
+                    {
+                        handler.run(player, (T) assembled);
+                    }
+                }
+                else
+                {
+                    handler.run(player, (T) decoded);
+                }
+            }
+            catch (Exception e)
+            {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    private ByteBuf encode(IMessage message)
+    {
+        ByteBuf buf = Unpooled.buffer();
+
+        message.toBytes(buf);
+
+        return buf;
+    }
+
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent event)
+    {
+        if (!this.running)
+        {
+            return;
+        }
+
+        if (event.phase == Phase.START)
+        {
+            this.tickStart = System.nanoTime();
+
+            return;
+        }
+
+        float chance = this.rate / 20F;
+
+        for (FakePlayer player : this.players)
+        {
+            if (this.random.nextFloat() < chance)
+            {
+                this.act(player);
+            }
+
+            /* Fake players don't tick by themselves */
+            FMLCommonHandler.instance().onPlayerPreTick(player);
+            FMLCommonHandler.instance().onPlayerPostTick(player);
+        }
+
+        /* The load test was started in the middle of this tick */
+        if (this.tickStart == 0)
+        {
+            return;
+        }
+
+        long time = System.nanoTime() - this.tickStart;
+
+        this.tickTime += time;
+        this.maxTickTime = Math.max(this.maxTickTime, time);
+        this.ticks += 1;
+
+        if (this.ticks >= REPORT_INTERVAL)
+        {
+            this.reportStats();
+        }
+    }
+
+    /**
+     * Do a random action as given fake player
+     */
+    private void act(FakePlayer player)
+    {
+        IMorphing morphing = Morphing.get(player);
+        float action = this.random.nextFloat();
+
+        if (morphing == null)
+        {
+            return;
+        }
+
+        if (action < 0.2F)
+        {
+            /* Acquire a morph, like after killing an entity */
+            MorphAPI.acquire(player, this.createMorph(this.random.nextInt(this.corpus.size())));
+        }
+        else if (action < 0.6F)
+        {
+            List<AbstractMorph> acquired = morphing.getAcquiredMorphs();
+
+            if (!acquired.isEmpty())
+            {
+                int id = morphing.getAcquiredId(acquired.get(this.random.nextInt(acquired.size())));
+
+                this.send(player, new PacketSelectMorph(id, ++this.sequence), new ServerHandlerSelectMorph());
+            }
+        }
+        else if (action < 0.7F)
+        {
+            this.send(player, new PacketSelectMorph(-1, ++this.sequence), new ServerHandlerSelectMorph());
+        }
+        else
+        {
+            this.send(player, new PacketAction(), new ServerHandlerAction());
+        }
+    }
+
+    private void resetStats()
+    {
+        this.tickTime = 0;
+        this.maxTickTime = 0;
+        this.ticks = 0;
+        this.allocated = getAllocatedBytes();
+        this.bytesSent = 0;
+        this.messagesSent = 0;
+        this.bytesReceived = 0;
+        this.messagesReceived = 0;
+    }
+
+    private void reportStats()
+    {
+        long allocated = getAllocatedBytes();
+        double seconds = this.ticks / 20D;
+        String allocation = allocated < 0 || this.allocated < 0 ? "n/a" : String.format("%.1f MB/s", (allocated - this.allocated) / 1048576D / seconds);
+
+        this.report(String.format("%d players: %.2f ms/tick (max %.2f ms), allocation %s, sent %d msgs / %.1f KB/s, received %d msgs / %.1f KB/s",
+            this.players.size(), this.tickTime / 1000000D / this.ticks, this.maxTickTime / 1000000D, allocation,
+            this.messagesSent, this.bytesSent / 1024D / seconds, this.messagesReceived, this.bytesReceived / 1024D / seconds));
+
+        this.resetStats();
+    }
+
+    private void report(String message)
+    {
+        Metamorph.LOGGER.info(message);
+
+        if (this.sender != null && !(this.sender instanceof EntityPlayerMP && ((EntityPlayerMP) this.sender).hasDisconnected()))
+        {
+            this.sender.sendMessage(new TextComponentString(message));
+        }
+    }
+
+    /**
+     * Get amount of bytes allocated by current (server) thread, or -1 if
+     * JVM can't tell
+     */
+    private static long getAllocatedBytes()
+    {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (bean instanceof com.sun.management.ThreadMXBean)
+        {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,242 @@
+package mchorse.metamorph.util;
+
+import mchorse.metamorph.api.MorphManager;
+import mchorse.metamorph.api.MorphSettings;
+import mchorse.metamorph.api.abilities.IAbility;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ClientTickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.gameevent.TickEvent.ServerTickEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metamorph profiler
+ *
+ * Cheap profiler of Metamorph's hot spots (player ticks, morph and ability
+ * updates, ghosts, etc.). Every section keeps the durations of its last
+ * {@link #WINDOW} calls to calculate percentiles, and the amount and total
+ * duration of all calls since the last reset. Server and client side
+ * (which share the same JVM in singleplayer) are profiled separately.
+ *
+ * Usage:
+ *
+ * <pre>
+ * long start = System.nanoTime();
+ * // ...
+ * MetamorphProfiler.get(world.isRemote).end(MetamorphProfiler.PLAYER_TICK, start);
+ * </pre>
+ */
+public class MetamorphProfiler
+{
+    public static final MetamorphProfiler SERVER = new MetamorphProfiler();
+    public static final MetamorphProfiler CLIENT = new MetamorphProfiler();
+
+    /**
+     * Amount of the latest calls which are used to calculate percentiles
+     */
+    public static final int WINDOW = 1024;
+
+    /* Sections */
+    public static final String PLAYER_TICK = "player_tick";
+    public static final String MORPHING_UPDATE = "morphing_update";
+    public static final String MORPH_UPDATE = "morph_update";
+    public static final String ENTITY_UPDATE = "morph_entity_update";
+    public static final String KILL_ENTITY = "kill_entity";
+    public static final String MODEL_RENDERER = "model_renderer_update";
+    public static final String GHOST_UPDATE = "ghost_update";
+    public static final String ABILITY = "ability/";
+
+    private Map<String, Section> sections = new ConcurrentHashMap<String, Section>();
+    private Map<IAbility, Section> abilities = new ConcurrentHashMap<IAbility, Section>();
+
+    /**
+     * Amount of ticks since the last reset
+     */
+    private AtomicLong ticks = new AtomicLong();
+
+    public static MetamorphProfiler get(boolean remote)
+    {
+        return remote ? CLIENT : SERVER;
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent event)
+    {
+        if (event.phase == Phase.END)
+        {
+            SERVER.ticks.incrementAndGet();
+        }
+    }
+
+    @SubscribeEvent
+    public static void onClientTick(ClientTickEvent event)
+    {
+        if (event.phase == Phase.END)
+        {
+            CLIENT.ticks.incrementAndGet();
+        }
+    }
+
+    /**
+     * Record a call of given section, which started at given time (in
+     * {@link System#nanoTime()})
+     */
+    public void end(String section, long start)
+    {
+        long duration = System.nanoTime() - start;
+        Section entry = this.sections.get(section);
+
+        if (entry == null)
+        {
+            entry = this.sections.computeIfAbsent(section, Section::new);
+        }
+
+        entry.add(duration);
+    }
+
+    /**
+     * Record an update of given ability, which started at given time.
+     * Abilities are profiled by their keys.
+     */
+    public void endAbility(IAbility ability, long start)
+    {
+        long duration = System.nanoTime() - start;
+        Section entry = this.abilities.get(ability);
+
+        if (entry == null)
+        {
+            String key = MorphSettings.getKey(MorphManager.INSTANCE.abilities, ability);
+
+            entry = this.sections.computeIfAbsent(ABILITY + (key == null ? ability.getClass().getSimpleName() : key), Section::new);
+            this.abilities.put(ability, entry);
+        }
+
+        entry.add(duration);
+    }
+
+    public long getTicks()
+    {
+        return this.ticks.get();
+    }
+
+    /**
+     * Get statistics of all sections, sorted by total duration (the most
+     * expensive first)
+     */
+    public List<Stats> getStats()
+    {
+        List<Stats> stats = new ArrayList<Stats>();
+
+        for (Section section : this.sections.values())
+        {
+            stats.add(section.getStats());
+        }
+
+        stats.sort((a, b) -> Long.compare(b.total, a.total));
+
+        return stats;
+    }
+
+    /**
+     * Forget all recorded calls
+     */
+    public void reset()
+    {
+        this.sections.clear();
+        this.abilities.clear();
+        this.ticks.set(0);
+    }
+
+    /**
+     * Profiler section
+     */
+    private static class Section
+    {
+        public final String name;
+
+        /* Ring buffer of the latest durations */
+        private long[] samples = new long[WINDOW];
+        private int index;
+        private int size;
+
+        private long calls;
+        private long total;
+        private long max;
+
+        public Section(String name)
+        {
+            this.name = name;
+        }
+
+        public synchronized void add(long duration)
+        {
+            this.samples[this.index] = duration;
+            this.index = (this.index + 1) % WINDOW;
+            this.size = Math.min(this.size + 1, WINDOW);
+
+            this.calls += 1;
+            this.total += duration;
+            this.max = Math.max(this.max, duration);
+        }
+
+        public Stats getStats()
+        {
+            long[] samples;
+            Stats stats = new Stats(this.name);
+
+            synchronized (this)
+            {
+                samples = Arrays.copyOf(this.samples, this.size);
+                stats.calls = this.calls;
+                stats.total = this.total;
+                stats.max = this.max;
+            }
+
+            Arrays.sort(samples);
+
+            stats.p50 = percentile(samples, 0.5);
+            stats.p95 = percentile(samples, 0.95);
+            stats.p99 = percentile(samples, 0.99);
+
+            return stats;
+        }
+
+        private static long percentile(long[] sorted, double percentile)
+        {
+            if (sorted.length == 0)
+            {
+                return 0;
+            }
+
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+        }
+    }
+
+    /**
+     * Statistics of a section (durations are in nanoseconds). Percentiles
+     * are of the latest {@link #WINDOW} calls, while other values are of
+     * all calls since the last reset.
+     */
+    public static class Stats
+    {
+        public final String name;
+
+        public long calls;
+        public long total;
+        public long max;
+        public long p50;
+        public long p95;
+        public long p99;
+
+        public Stats(String name)
+        {
+            this.name = name;
+        }
+    }
+}
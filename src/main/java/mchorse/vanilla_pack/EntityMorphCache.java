@@ -0,0 +1,175 @@
+package mchorse.vanilla_pack;
+
+import mchorse.metamorph.Metamorph;
+import net.minecraft.entity.EntityList;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.common.ForgeVersion;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.ModContainer;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Entity morph cache
+ *
+ * Stores stripped default entity data and category of every entity morph
+ * created by {@link MetamorphSection} in a compressed NBT file, so they
+ * don't have to be constructed again on next launches. The cache is keyed
+ * by a hash of the entity registry and versions of loaded mods, and it's
+ * discarded when any of them change.
+ */
+public class EntityMorphCache
+{
+    private File file;
+
+    /**
+     * Hash of current entity registry and mod list
+     */
+    private String hash;
+
+    /**
+     * Cached entities by morph name, containing "Category" and "Data" tags
+     */
+    private NBTTagCompound entities;
+
+    private boolean dirty;
+
+    public EntityMorphCache(File file)
+    {
+        this.file = file;
+    }
+
+    /**
+     * Get cached category and data of given entity morph, or null if it
+     * isn't cached
+     */
+    public NBTTagCompound get(String name)
+    {
+        NBTTagCompound entities = this.getEntities();
+
+        return entities.hasKey(name, 10) ? entities.getCompoundTag(name) : null;
+    }
+
+    /**
+     * Remember category and data of given entity morph
+     */
+    public void put(String name, String category, NBTTagCompound data)
+    {
+        NBTTagCompound entry = new NBTTagCompound();
+
+        entry.setString("Category", category);
+        entry.setTag("Data", data.copy());
+
+        this.getEntities().setTag(name, entry);
+        this.dirty = true;
+    }
+
+    private NBTTagCompound getEntities()
+    {
+        if (this.entities == null)
+        {
+            this.entities = this.load();
+        }
+
+        return this.entities;
+    }
+
+    /**
+     * Load the cache file, returns an empty cache if the file is missing,
+     * broken or outdated
+     */
+    private NBTTagCompound load()
+    {
+        if (this.file != null && this.file.exists())
+        {
+            try
+            {
+                NBTTagCompound tag = CompressedStreamTools.readCompressed(Files.newInputStream(this.file.toPath()));
+
+                if (tag.getString("Hash").equals(this.getHash()))
+                {
+                    return tag.getCompoundTag("Entities");
+                }
+            }
+            catch (Exception e)
+            {
+                Metamorph.log("Failed to load entity morph cache!");
+                e.printStackTrace();
+            }
+        }
+
+        return new NBTTagCompound();
+    }
+
+    /**
+     * Save the cache file, if any entities were added to it. It's written
+     * to a temporary file first, so a crash wouldn't leave a broken cache.
+     */
+    public void save()
+    {
+        if (this.file == null || !this.dirty)
+        {
+            return;
+        }
+
+        NBTTagCompound tag = new NBTTagCompound();
+
+        tag.setString("Hash", this.getHash());
+        tag.setTag("Entities", this.entities);
+
+        try
+        {
+            File temp = new File(this.file.getPath() + ".tmp");
+
+            this.file.getParentFile().mkdirs();
+            CompressedStreamTools.writeCompressed(tag, Files.newOutputStream(temp.toPath()));
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            this.dirty = false;
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to save entity morph cache!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Hash of registered entities and versions of loaded mods (and Forge)
+     */
+    private String getHash()
+    {
+        if (this.hash == null)
+        {
+            List<String> keys = new ArrayList<String>();
+
+            for (ResourceLocation rl : EntityList.getEntityNameList())
+            {
+                keys.add(rl.toString());
+            }
+
+            Collections.sort(keys);
+
+            List<String> mods = new ArrayList<String>();
+
+            for (ModContainer mod : Loader.instance().getActiveModList())
+            {
+                mods.add(mod.getModId() + "@" + mod.getVersion());
+            }
+
+            Collections.sort(mods);
+
+            this.hash = DigestUtils.sha1Hex(ForgeVersion.getVersion() + "\n" + String.join(",", keys) + "\n" + String.join(",", mods));
+        }
+
+        return this.hash;
+    }
+}
@@ -21,15 +21,47 @@ import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Metamorph section
+ *
+ * Lists entity morphs of all registered entities and some miscellaneous
+ * morphs. Creating entity morphs requires constructing and serializing
+ * every entity, so it's done gradually within a time budget per frame
+ * (see {@link #populate()}), and the categories which were already
+ * populated are shown right away. Entity data is also stored in
+ * {@link EntityMorphCache}, so next launches can skip constructing
+ * entities.
+ */
 public class MetamorphSection extends MorphSection
 {
+	/**
+	 * Time (in nanoseconds) which can be spent on creating entity morphs
+	 * per frame
+	 */
+	public static final long BUDGET = 4000000L;
+
 	private MetamorphFactory factory;
 	private Map<String, MorphCategory> categoryMap = new HashMap<String, MorphCategory>();
 
+	/**
+	 * Entity names which still have to be added, null if population
+	 * didn't start yet
+	 */
+	private Iterator<ResourceLocation> queue;
+	private World world;
+
+	/**
+	 * Default entity data which was stored on previous launches
+	 */
+	private EntityMorphCache cache;
+
 	public MetamorphSection(MetamorphFactory factory, String title)
 	{
 		super(title);
@@ -40,12 +72,13 @@ public class MetamorphSection extends MorphSection
 	@Override
 	public void update(World world)
 	{
-		boolean full = !this.categories.isEmpty();
 		boolean loading = Metamorph.loadEntityMorphs.get();
 
-		if (full || !loading)
+		this.world = world;
+
+		if (!loading)
 		{
-			if (full && !loading)
+			if (this.queue != null)
 			{
 				this.reset();
 			}
@@ -53,16 +86,13 @@ public class MetamorphSection extends MorphSection
 			return;
 		}
 
-		for (ResourceLocation rl : EntityList.getEntityNameList())
+		if (this.queue != null)
 		{
-			String name = MorphManager.INSTANCE.remap(rl.toString());
-
-			if (this.factory.hasMorph(name))
-			{
-				this.addMorph(world, name);
-			}
+			return;
 		}
 
+		this.queue = new ArrayList<ResourceLocation>(EntityList.getEntityNameList()).iterator();
+
 		/* Miscellaneous morphs */
 		PlayerMorph notch = new PlayerMorph();
 		NBTTagCompound tag = new NBTTagCompound();
@@ -71,51 +101,99 @@ public class MetamorphSection extends MorphSection
 		tag.setString("Username", "Notch");
 		notch.fromNBT(tag);
 
-		this.get("generic").add(new BlockMorph());
-		this.get("generic").add(new ItemMorph());
-		this.get("generic").add(new LabelMorph());
-		this.get("generic").add(notch);
+		MorphCategory generic = this.get("generic");
+
+		generic.add(new BlockMorph());
+		generic.add(new ItemMorph());
+		generic.add(new LabelMorph());
+		generic.add(notch);
+		generic.sort();
+
+		this.populate();
+	}
+
+	/**
+	 * Add entity morphs until the time budget runs out
+	 */
+	@Override
+	public void populate()
+	{
+		if (this.queue == null || !this.queue.hasNext())
+		{
+			return;
+		}
 
-		/* Add categories to the main list */
-		Iterator<MorphCategory> it = this.categoryMap.values().iterator();
+		long start = System.nanoTime();
+		Set<MorphCategory> touched = new HashSet<MorphCategory>();
 
-		while (it.hasNext())
+		while (this.queue.hasNext() && System.nanoTime() - start < BUDGET)
 		{
-			if (it.next().getMorphs().isEmpty())
+			String name = MorphManager.INSTANCE.remap(this.queue.next().toString());
+
+			if (this.factory.hasMorph(name))
 			{
-				it.remove();
+				MorphCategory category = this.addMorph(this.world, name);
+
+				if (category != null)
+				{
+					touched.add(category);
+				}
 			}
 		}
 
-		this.categories.addAll(this.categoryMap.values());
-		this.categoryMap.clear();
-
-		for (MorphCategory category : this.categories)
+		for (MorphCategory category : touched)
 		{
 			category.sort();
 		}
+
+		if (!this.queue.hasNext())
+		{
+			this.getCache().save();
+		}
+	}
+
+	private EntityMorphCache getCache()
+	{
+		if (this.cache == null)
+		{
+			this.cache = new EntityMorphCache(Metamorph.proxy.entities);
+		}
+
+		return this.cache;
 	}
 
 	/**
 	 * Add an entity morph to the morph list
 	 */
-	private void addMorph(World world, String name)
+	private MorphCategory addMorph(World world, String name)
 	{
 		try
 		{
 			EntityMorph morph = this.factory.morphFromName(name);
+			NBTTagCompound cached = this.getCache().get(name);
+
+			morph.name = name;
+
+			if (cached != null)
+			{
+				MorphCategory cat = this.get(cached.getString("Category"));
+
+				morph.setEntityData(cached.getCompoundTag("Data").copy());
+				cat.add(morph);
+
+				return cat;
+			}
+
 			EntityLivingBase entity = (EntityLivingBase) EntityList.createEntityByIDFromName(new ResourceLocation(name), world);
 
 			if (entity == null)
 			{
 				System.out.println("Couldn't add morph " + name + ", because it's null!");
-				return;
+				return null;
 			}
 
 			NBTTagCompound data = entity.serializeNBT();
 
-			morph.name = name;
-
 			/* Setting up a category */
 			String category = "generic";
 
@@ -139,18 +217,25 @@ public class MetamorphSection extends MorphSection
 
 			EntityUtils.stripEntityNBT(data);
 			morph.setEntityData(data);
+			this.getCache().put(name, category, data);
+
+			MorphCategory cat = this.get(category);
 
-			this.get(category).add(morph);
+			cat.add(morph);
+
+			return cat;
 		}
 		catch (Exception e)
 		{
 			System.out.println("An error occured during insertion of " + name + " morph!");
 			e.printStackTrace();
 		}
+
+		return null;
 	}
 
 	/**
-	 * Get a temporary category
+	 * Get a category by name, new categories get shown immediately
 	 */
 	private MorphCategory get(String name)
 	{
@@ -159,6 +244,7 @@ public class MetamorphSection extends MorphSection
 		if (cat == null)
 		{
 			this.categoryMap.put(name, cat = new MorphCategory(this, name));
+			this.categories.add(cat);
 		}
 
 		return cat;
@@ -168,5 +254,8 @@ public class MetamorphSection extends MorphSection
 	public void reset()
 	{
 		this.categories.clear();
+		this.categoryMap.clear();
+		this.queue = null;
+		this.world = null;
 	}
 }
\ No newline at end of file
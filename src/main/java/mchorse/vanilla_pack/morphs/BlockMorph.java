@@ -4,6 +4,7 @@ import com.google.common.base.Objects;
 
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.capabilities.morphing.IMorphing;
+import mchorse.vanilla_pack.morphs.utils.GeometryCache;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.client.Minecraft;
@@ -85,7 +86,7 @@ public class BlockMorph extends ItemStackMorph
         GlStateManager.translate(0, 1, 0);
 
         mc.renderEngine.bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
-        blockrendererdispatcher.renderBlockBrightness(this.block, 1.0F);
+        this.renderBlock(blockrendererdispatcher);
         GlStateManager.popMatrix();
         GlStateManager.disableDepth();
     }
@@ -115,7 +116,7 @@ public class BlockMorph extends ItemStackMorph
         mc.renderEngine.bindTexture(TextureMap.LOCATION_BLOCKS_TEXTURE);
         GlStateManager.rotate(-90.0F, 0.0F, 1.0F, 0.0F);
         GlStateManager.translate(-0.5F, -0.5F, 0.5F);
-        blockrendererdispatcher.renderBlockBrightness(this.block, 1.0F);
+        this.renderBlock(blockrendererdispatcher);
         GlStateManager.translate(0.0F, 0.0F, 1.0F);
         GlStateManager.popMatrix();
         GlStateManager.disableRescaleNormal();
@@ -126,6 +127,23 @@ public class BlockMorph extends ItemStackMorph
         }
     }
 
+    /**
+     * Render the block state, using cached geometry when the block is 
+     * rendered by a baked model
+     */
+    @SideOnly(Side.CLIENT)
+    private void renderBlock(BlockRendererDispatcher dispatcher)
+    {
+        if (GeometryCache.canCache(this.block))
+        {
+            GeometryCache.INSTANCE.renderBlock(this.block);
+        }
+        else
+        {
+            dispatcher.renderBlockBrightness(this.block, 1.0F);
+        }
+    }
+
     /**
      * Update the entity
      * 
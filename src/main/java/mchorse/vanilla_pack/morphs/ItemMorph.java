@@ -3,6 +3,7 @@ package mchorse.vanilla_pack.morphs;
 import mchorse.mclib.client.gui.framework.elements.utils.GuiInventoryElement;
 import mchorse.mclib.utils.MathUtils;
 import mchorse.metamorph.api.morphs.AbstractMorph;
+import mchorse.vanilla_pack.morphs.utils.GeometryCache;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.FontRenderer;
 import net.minecraft.client.renderer.GlStateManager;
@@ -88,7 +89,14 @@ public class ItemMorph extends ItemStackMorph
 		RenderItem render = Minecraft.getMinecraft().getRenderItem();
 		IBakedModel model = render.getItemModelWithOverrides(stack, entity.world, entity);
 
-		render.renderItem(this.stack, model);
+		if (GeometryCache.canCache(this.stack, model))
+		{
+			GeometryCache.INSTANCE.renderItem(this.stack, model);
+		}
+		else
+		{
+			render.renderItem(this.stack, model);
+		}
 
 		GlStateManager.popMatrix();
 
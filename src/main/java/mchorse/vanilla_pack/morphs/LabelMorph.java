@@ -33,6 +33,12 @@ public class LabelMorph extends AbstractMorph
 	public float shadowY = 1F;
 	public int shadowColor = 0x000000;
 
+	/**
+	 * Cached text layout (wrapped lines and their offsets)
+	 */
+	@SideOnly(Side.CLIENT)
+	private Layout layout;
+
 	public LabelMorph()
 	{
 		this.name = "label";
@@ -89,55 +95,22 @@ public class LabelMorph extends AbstractMorph
 	{
 		FontRenderer font = Minecraft.getMinecraft().fontRenderer;
 
-		if (this.max <= 0)
+		if (this.layout == null)
 		{
-			int w = font.getStringWidth(this.label);
-			int x = -(int) (w * this.anchorX);
-			int y = -(int) (font.FONT_HEIGHT * this.anchorY);
-
-			if (this.shadow)
-			{
-				GlStateManager.pushMatrix();
-				GlStateManager.translate(this.shadowX, this.shadowY, -0.1F);
-				font.drawString(this.label, x, y, this.shadowColor);
-				GlStateManager.popMatrix();
-			}
-
-			font.drawString(this.label, x, y, this.color);
+			this.layout = new Layout();
 		}
-		else
-		{
-			int max = MathUtils.clamp(this.max, 6, Integer.MAX_VALUE);
-			List<String> labels = font.listFormattedStringToWidth(this.label, max);
-			int h = MathUtils.clamp(labels.size() - 1, 0, 100) * 12 + font.FONT_HEIGHT;
-			int y = -(int) (h * this.anchorY);
-
-			if (this.shadow)
-			{
-				GlStateManager.pushMatrix();
-				GlStateManager.translate(this.shadowX, this.shadowY, -0.1F);
-
-				for (String label : labels)
-				{
-					int w = font.getStringWidth(label);
 
-					font.drawString(label, -(int) (w * this.anchorX), y, this.shadowColor);
-					y += 12;
-				}
+		Layout layout = this.layout.update(this, font);
 
-				GlStateManager.popMatrix();
-			}
-
-			y = -(int) (h * this.anchorY);
-
-			for (String label : labels)
-			{
-				int w = font.getStringWidth(label);
-
-				font.drawString(label, -(int) (w * this.anchorX), y, this.color);
-				y += 12;
-			}
+		if (this.shadow)
+		{
+			GlStateManager.pushMatrix();
+			GlStateManager.translate(this.shadowX, this.shadowY, -0.1F);
+			layout.draw(font, this.shadowColor);
+			GlStateManager.popMatrix();
 		}
+
+		layout.draw(font, this.color);
 	}
 
 	@Override
@@ -237,4 +210,94 @@ public class LabelMorph extends AbstractMorph
 		if (tag.hasKey("ShadowColor")) this.shadowColor = tag.getInteger("ShadowColor");
 		if (tag.hasKey("Lighting")) this.lighting = tag.getBoolean("Lighting");
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Label's text layout
+	 *
+	 * Word wrapping and measuring of the label is done only when the label,
+	 * its max width, anchor or font's state change, instead of every frame.
+	 */
+	@SideOnly(Side.CLIENT)
+	public static class Layout
+	{
+		/* Layout's key */
+		private String label;
+		private int max;
+		private float anchorX;
+		private float anchorY;
+		private FontRenderer font;
+		private boolean unicode;
+		private boolean bidi;
+
+		/* Computed layout */
+		private String[] lines = new String[0];
+		private int[] xs = new int[0];
+		private int[] ys = new int[0];
+
+		/**
+		 * Recompute the layout if given label's fields or font's state
+		 * have changed
+		 */
+		public Layout update(LabelMorph morph, FontRenderer font)
+		{
+			boolean same = this.label != null && this.label.equals(morph.label) &&
+				this.max == morph.max &&
+				this.anchorX == morph.anchorX &&
+				this.anchorY == morph.anchorY &&
+				this.font == font &&
+				this.unicode == font.getUnicodeFlag() &&
+				this.bidi == font.getBidiFlag();
+
+			if (!same)
+			{
+				this.label = morph.label;
+				this.max = morph.max;
+				this.anchorX = morph.anchorX;
+				this.anchorY = morph.anchorY;
+				this.font = font;
+				this.unicode = font.getUnicodeFlag();
+				this.bidi = font.getBidiFlag();
+
+				this.compute(font);
+			}
+
+			return this;
+		}
+
+		private void compute(FontRenderer font)
+		{
+			if (this.max <= 0)
+			{
+				this.lines = new String[] {this.label};
+				this.xs = new int[] {-(int) (font.getStringWidth(this.label) * this.anchorX)};
+				this.ys = new int[] {-(int) (font.FONT_HEIGHT * this.anchorY)};
+
+				return;
+			}
+
+			int max = MathUtils.clamp(this.max, 6, Integer.MAX_VALUE);
+			List<String> labels = font.listFormattedStringToWidth(this.label, max);
+			int h = MathUtils.clamp(labels.size() - 1, 0, 100) * 12 + font.FONT_HEIGHT;
+			int y = -(int) (h * this.anchorY);
+
+			this.lines = labels.toArray(new String[labels.size()]);
+			this.xs = new int[this.lines.length];
+			this.ys = new int[this.lines.length];
+
+			for (int i = 0; i < this.lines.length; i++)
+			{
+				this.xs[i] = -(int) (font.getStringWidth(this.lines[i]) * this.anchorX);
+				this.ys[i] = y;
+				y += 12;
+			}
+		}
+
+		public void draw(FontRenderer font, int color)
+		{
+			for (int i = 0; i < this.lines.length; i++)
+			{
+				font.drawString(this.lines[i], this.xs[i], this.ys[i], color);
+			}
+		}
+	}
+}
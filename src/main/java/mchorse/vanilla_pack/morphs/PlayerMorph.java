@@ -4,6 +4,7 @@ import com.mojang.authlib.GameProfile;
 
 import mchorse.metamorph.api.morphs.AbstractMorph;
 import mchorse.metamorph.api.morphs.EntityMorph;
+import mchorse.vanilla_pack.profiles.ProfileCache;
 import net.minecraft.client.entity.EntityOtherPlayerMP;
 import net.minecraft.client.network.NetworkPlayerInfo;
 import net.minecraft.entity.EntityLivingBase;
@@ -11,13 +12,14 @@ import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EnumPlayerModelParts;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTUtil;
-import net.minecraft.tileentity.TileEntitySkull;
 import net.minecraft.util.EnumHandSide;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.world.World;
 import net.minecraftforge.fml.relauncher.Side;
 import net.minecraftforge.fml.relauncher.SideOnly;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Player morph
  * 
@@ -31,6 +33,13 @@ public class PlayerMorph extends EntityMorph
      */
     public GameProfile profile;
 
+    /**
+     * Profile which is being resolved in the background. Until it's 
+     * resolved, {@link #profile} holds a placeholder profile, so the 
+     * morph is rendered with the default skin 
+     */
+    private CompletableFuture<GameProfile> request;
+
     public PlayerMorph()
     {
         this.name = "player";
@@ -43,10 +52,66 @@ public class PlayerMorph extends EntityMorph
         return this.profile == null ? super.getSubclassDisplayName() : this.profile.getName();
     }
 
+    /**
+     * Set profile by given username. The profile is resolved 
+     * asynchronously, so this method never blocks.
+     */
     public void setProfile(String username)
     {
-        this.profile = new GameProfile(null, username);
-        this.profile = TileEntitySkull.updateGameprofile(this.profile);
+        GameProfile cached = ProfileCache.INSTANCE.getCached(username);
+        CompletableFuture<GameProfile> request = ProfileCache.INSTANCE.request(username);
+
+        this.profile = cached == null ? new GameProfile(null, username) : cached;
+        this.request = request;
+        this.updateProfile();
+    }
+
+    /**
+     * Apply the profile once it was resolved, the entity gets recreated 
+     * with the new profile (and skin)
+     */
+    protected void updateProfile()
+    {
+        if (this.request == null || !this.request.isDone())
+        {
+            return;
+        }
+
+        GameProfile profile = this.request.getNow(null);
+
+        this.request = null;
+
+        if (profile != null && profile != this.profile)
+        {
+            this.profile = profile;
+            this.resetEntity();
+        }
+    }
+
+    @Override
+    public void update(EntityLivingBase target)
+    {
+        this.updateProfile();
+
+        super.update(target);
+    }
+
+    @Override
+    @SideOnly(Side.CLIENT)
+    public void render(EntityLivingBase entity, double x, double y, double z, float entityYaw, float partialTicks)
+    {
+        this.updateProfile();
+
+        super.render(entity, x, y, z, entityYaw, partialTicks);
+    }
+
+    @Override
+    @SideOnly(Side.CLIENT)
+    public void renderOnScreen(EntityPlayer player, int x, int y, float scale, float alpha)
+    {
+        this.updateProfile();
+
+        super.renderOnScreen(player, x, y, scale, alpha);
     }
 
     /**
@@ -57,6 +122,8 @@ public class PlayerMorph extends EntityMorph
     {
         EntityLivingBase created = null;
 
+        this.updateProfile();
+
         if (world.isRemote)
         {
             created = this.getPlayerClient(world);
@@ -181,6 +248,7 @@ public class PlayerMorph extends EntityMorph
             PlayerMorph morph = (PlayerMorph) from;
 
             this.profile = morph.profile;
+            this.request = morph.request;
         }
     }
 
@@ -205,6 +273,7 @@ public class PlayerMorph extends EntityMorph
         super.reset();
 
         this.profile = null;
+        this.request = null;
     }
 
     @Override
@@ -215,6 +284,12 @@ public class PlayerMorph extends EntityMorph
         if (tag.hasKey("PlayerProfile", 10))
         {
             this.profile = NBTUtil.readGameProfileFromNBT(tag.getCompoundTag("PlayerProfile"));
+
+            /* Profile was saved before it got resolved */
+            if (this.profile != null && this.profile.getId() == null)
+            {
+                this.setProfile(this.profile.getName());
+            }
         }
         else if (tag.hasKey("Username"))
         {
@@ -227,7 +302,12 @@ public class PlayerMorph extends EntityMorph
     {
         super.toNBT(tag);
 
-        if (this.profile != null)
+        if (this.profile != null && this.request != null && !this.request.isDone())
+        {
+            /* Let it be resolved again when it's loaded */
+            tag.setString("Username", this.profile.getName());
+        }
+        else if (this.profile != null)
         {
             NBTTagCompound profileTag = new NBTTagCompound();
 
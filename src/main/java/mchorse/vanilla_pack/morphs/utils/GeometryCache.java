@@ -0,0 +1,211 @@
+package mchorse.vanilla_pack.morphs.utils;
+
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GLAllocation;
+import net.minecraft.client.renderer.GlStateManager;
+import net.minecraft.client.renderer.RenderItem;
+import net.minecraft.client.renderer.block.model.IBakedModel;
+import net.minecraft.client.resources.IReloadableResourceManager;
+import net.minecraft.client.resources.IResourceManager;
+import net.minecraft.client.resources.IResourceManagerReloadListener;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.EnumBlockRenderType;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import org.lwjgl.opengl.GL11;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Geometry cache
+ * 
+ * Compiles block states and item models, which are rendered by block and 
+ * item morphs, into display lists. Lists are shared between all morphs with 
+ * the same block state or item, so rendering many block morphs doesn't 
+ * rebuild the same quads every frame. All lists get deleted on resource 
+ * reload, since models and textures may have changed.
+ * 
+ * Geometry which changes over time (tile entity renderers and enchantment 
+ * glint) isn't cached, and should be rendered directly.
+ */
+@SideOnly(Side.CLIENT)
+public class GeometryCache implements IResourceManagerReloadListener
+{
+    public static final GeometryCache INSTANCE = new GeometryCache();
+
+    /**
+     * Maximum amount of display lists, least recently used lists get 
+     * deleted first
+     */
+    public static final int MAX_LISTS = 512;
+
+    private Map<Object, Integer> lists = new LinkedHashMap<Object, Integer>(16, 0.75F, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Integer> eldest)
+        {
+            if (this.size() > MAX_LISTS)
+            {
+                GLAllocation.deleteDisplayLists(eldest.getValue());
+
+                return true;
+            }
+
+            return false;
+        }
+    };
+
+    private boolean registered;
+
+    /**
+     * Whether given block state can be cached
+     */
+    public static boolean canCache(IBlockState state)
+    {
+        return state.getRenderType() == EnumBlockRenderType.MODEL;
+    }
+
+    /**
+     * Whether given item stack with given model can be cached
+     */
+    public static boolean canCache(ItemStack stack, IBakedModel model)
+    {
+        return !stack.isEmpty() && !model.isBuiltInRenderer() && !stack.hasEffect();
+    }
+
+    /**
+     * Render given block state with full brightness, the same way as 
+     * {@link net.minecraft.client.renderer.BlockRendererDispatcher#renderBlockBrightness(IBlockState, float)} 
+     * does
+     */
+    public void renderBlock(IBlockState state)
+    {
+        Integer list = this.lists.get(state);
+
+        if (list == null)
+        {
+            list = this.compile(state, () -> Minecraft.getMinecraft().getBlockRendererDispatcher().renderBlockBrightness(state, 1.0F));
+        }
+
+        GlStateManager.callList(list);
+    }
+
+    /**
+     * Render given item stack with given model, the same way as 
+     * {@link RenderItem#renderItem(ItemStack, IBakedModel)} does
+     */
+    public void renderItem(ItemStack stack, IBakedModel model)
+    {
+        Integer list = this.lists.get(new ItemKey(stack, model, false));
+
+        if (list == null)
+        {
+            RenderItem render = Minecraft.getMinecraft().getRenderItem();
+
+            list = this.compile(new ItemKey(stack, model, true), () -> render.renderItem(stack, model));
+        }
+
+        GlStateManager.callList(list);
+    }
+
+    private int compile(Object key, Runnable renderer)
+    {
+        this.register();
+
+        int list = GLAllocation.generateDisplayLists(1);
+
+        GlStateManager.glNewList(list, GL11.GL_COMPILE);
+        renderer.run();
+        GlStateManager.glEndList();
+
+        this.lists.put(key, list);
+
+        return list;
+    }
+
+    private void register()
+    {
+        if (!this.registered && Minecraft.getMinecraft().getResourceManager() instanceof IReloadableResourceManager)
+        {
+            ((IReloadableResourceManager) Minecraft.getMinecraft().getResourceManager()).registerReloadListener(this);
+            this.registered = true;
+        }
+    }
+
+    /**
+     * Delete all display lists
+     */
+    public void clear()
+    {
+        for (Integer list : this.lists.values())
+        {
+            GLAllocation.deleteDisplayLists(list);
+        }
+
+        this.lists.clear();
+    }
+
+    @Override
+    public void onResourceManagerReload(IResourceManager resourceManager)
+    {
+        this.clear();
+    }
+
+    /**
+     * Item cache key, item stacks are mutable and don't implement 
+     * equals/hashCode, so the key copies relevant parts of the stack. 
+     * Model is included, because item overrides (bows, clocks, etc.) 
+     * select different models for the same stack.
+     */
+    private static class ItemKey
+    {
+        private final Item item;
+        private final int meta;
+        private final NBTTagCompound tag;
+        private final IBakedModel model;
+
+        /**
+         * Tag gets copied only for the keys which are stored, keys which 
+         * are used for look up can reference the stack's tag
+         */
+        public ItemKey(ItemStack stack, IBakedModel model, boolean copy)
+        {
+            NBTTagCompound tag = stack.getTagCompound();
+
+            this.item = stack.getItem();
+            this.meta = stack.getMetadata();
+            this.tag = tag != null && copy ? tag.copy() : tag;
+            this.model = model;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (obj instanceof ItemKey)
+            {
+                ItemKey key = (ItemKey) obj;
+
+                return this.item == key.item && this.meta == key.meta && this.model == key.model && Objects.equals(this.tag, key.tag);
+            }
+
+            return false;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int hash = System.identityHashCode(this.item);
+
+            hash = hash * 31 + this.meta;
+            hash = hash * 31 + System.identityHashCode(this.model);
+            hash = hash * 31 + (this.tag == null ? 0 : this.tag.hashCode());
+
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package mchorse.vanilla_pack.profiles;
+
+import com.mojang.authlib.GameProfile;
+
+/**
+ * Profile resolver interface
+ * 
+ * Resolves a player's game profile (UUID and skin textures) by the 
+ * username. Resolvers are called on {@link ProfileCache}'s background 
+ * thread, so they're free to block.
+ */
+public interface IProfileResolver
+{
+    /**
+     * Resolve a profile by given username, or return null if it can't be 
+     * resolved
+     */
+    public GameProfile resolve(String username);
+}
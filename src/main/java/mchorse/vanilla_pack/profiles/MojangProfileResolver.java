@@ -0,0 +1,59 @@
+package mchorse.vanilla_pack.profiles;
+
+import com.mojang.authlib.Agent;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.GameProfileRepository;
+import com.mojang.authlib.ProfileLookupCallback;
+import com.mojang.authlib.minecraft.MinecraftSessionService;
+import com.mojang.authlib.yggdrasil.YggdrasilAuthenticationService;
+import mchorse.metamorph.Metamorph;
+
+import java.util.UUID;
+
+/**
+ * Mojang profile resolver
+ *
+ * Looks up the profile and its textures through Mojang's services. It
+ * talks to authlib directly instead of going through player skulls,
+ * because skulls use vanilla's profile cache, which isn't thread-safe.
+ * Requests go through the game's (or dedicated server's) proxy.
+ */
+public class MojangProfileResolver implements IProfileResolver
+{
+    private GameProfileRepository repository;
+    private MinecraftSessionService sessionService;
+
+    @Override
+    public GameProfile resolve(String username)
+    {
+        if (this.repository == null)
+        {
+            YggdrasilAuthenticationService service = new YggdrasilAuthenticationService(Metamorph.proxy.getNetworkProxy(), UUID.randomUUID().toString());
+
+            this.repository = service.createProfileRepository();
+            this.sessionService = service.createMinecraftSessionService();
+        }
+
+        GameProfile[] found = new GameProfile[1];
+
+        this.repository.findProfilesByNames(new String[] {username}, Agent.MINECRAFT, new ProfileLookupCallback()
+        {
+            @Override
+            public void onProfileLookupSucceeded(GameProfile profile)
+            {
+                found[0] = profile;
+            }
+
+            @Override
+            public void onProfileLookupFailed(GameProfile profile, Exception exception)
+            {}
+        });
+
+        if (found[0] == null)
+        {
+            return null;
+        }
+
+        return this.sessionService.fillProfileProperties(found[0], true);
+    }
+}
@@ -0,0 +1,20 @@
+package mchorse.vanilla_pack.profiles;
+
+import com.mojang.authlib.GameProfile;
+import net.minecraft.entity.player.EntityPlayer;
+
+/**
+ * Offline profile resolver
+ * 
+ * Local stand-in for {@link MojangProfileResolver}, which doesn't go to 
+ * the network at all. It produces offline mode profiles without textures, 
+ * so player morphs are rendered with the default skin.
+ */
+public class OfflineProfileResolver implements IProfileResolver
+{
+    @Override
+    public GameProfile resolve(String username)
+    {
+        return new GameProfile(EntityPlayer.getOfflineUUID(username), username);
+    }
+}
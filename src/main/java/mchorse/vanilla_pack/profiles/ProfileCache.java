@@ -0,0 +1,366 @@
+package mchorse.vanilla_pack.profiles;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mojang.authlib.GameProfile;
+import com.mojang.authlib.properties.Property;
+import mchorse.metamorph.Metamorph;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Profile cache
+ *
+ * Resolves game profiles for player morphs asynchronously on a background
+ * thread, and keeps resolved profiles (with their textures) in memory and
+ * on disk, so the same usernames don't have to be looked up again on every
+ * launch. Profiles on disk older than {@link #TTL} are still used, but they
+ * get refreshed in the background. Failed look ups aren't repeated for
+ * {@link #FAILURE_TTL}.
+ *
+ * The cache file is read and written only on the background thread, and
+ * never while holding the cache's lock.
+ */
+public class ProfileCache
+{
+    public static final ProfileCache INSTANCE = new ProfileCache();
+
+    /**
+     * How long resolved profiles are considered fresh (one day)
+     */
+    public static final long TTL = 24 * 60 * 60 * 1000L;
+
+    /**
+     * How long failed look ups are remembered (five minutes)
+     */
+    public static final long FAILURE_TTL = 5 * 60 * 1000L;
+
+    /**
+     * Resolver used when profile resolution is disabled in the config
+     */
+    private static final IProfileResolver OFFLINE = new OfflineProfileResolver();
+
+    /**
+     * Resolver which is used to look up profiles
+     */
+    private IProfileResolver resolver = new MojangProfileResolver();
+
+    /**
+     * Cache file
+     */
+    private File file;
+
+    /**
+     * Resolved profiles by lower case username
+     */
+    private Map<String, Entry> entries = new HashMap<String, Entry>();
+
+    /**
+     * Time of the last failed look up by lower case username
+     */
+    private Map<String, Long> failures = new HashMap<String, Long>();
+
+    /**
+     * Profiles that are being resolved by lower case username
+     */
+    private Map<String, CompletableFuture<GameProfile>> pending = new HashMap<String, CompletableFuture<GameProfile>>();
+
+    private ExecutorService executor;
+
+    /**
+     * Replace the resolver (i.e. with a local stand-in for tests or
+     * offline servers)
+     */
+    public synchronized void setResolver(IProfileResolver resolver)
+    {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Set the file where resolved profiles are stored. Profiles get loaded
+     * from it on the background thread.
+     */
+    public synchronized void setFile(File file)
+    {
+        this.file = file;
+        this.entries.clear();
+        this.failures.clear();
+        this.getExecutor().execute(() -> this.load(file));
+    }
+
+    /**
+     * Get last resolved profile for given username, even if it's stale.
+     * Returns null if the username was never resolved.
+     */
+    public synchronized GameProfile getCached(String username)
+    {
+        Entry entry = this.entries.get(username.toLowerCase(Locale.ROOT));
+
+        return entry == null ? null : entry.profile;
+    }
+
+    /**
+     * Request a profile for given username. Returned future is already
+     * completed if there is a fresh profile in the cache, otherwise the
+     * profile is going to be resolved in the background. The future is
+     * completed with null, if the profile couldn't be resolved.
+     */
+    public synchronized CompletableFuture<GameProfile> request(String username)
+    {
+        String key = username.toLowerCase(Locale.ROOT);
+        Entry entry = this.entries.get(key);
+        Long failure = this.failures.get(key);
+        long time = System.currentTimeMillis();
+
+        if (entry != null && time - entry.time < TTL)
+        {
+            return CompletableFuture.completedFuture(entry.profile);
+        }
+
+        if (failure != null && time - failure < FAILURE_TTL)
+        {
+            return CompletableFuture.completedFuture(entry == null ? null : entry.profile);
+        }
+
+        CompletableFuture<GameProfile> future = this.pending.get(key);
+
+        if (future == null)
+        {
+            IProfileResolver resolver = Metamorph.resolvePlayerProfiles.get() ? this.resolver : OFFLINE;
+
+            future = CompletableFuture.supplyAsync(() -> this.resolve(resolver, key, username), this.getExecutor());
+            this.pending.put(key, future);
+        }
+
+        return future;
+    }
+
+    /**
+     * Resolve the profile (on the background thread)
+     */
+    private GameProfile resolve(IProfileResolver resolver, String key, String username)
+    {
+        GameProfile profile = null;
+        Map<String, Entry> snapshot = null;
+        File file;
+
+        synchronized (this)
+        {
+            Entry entry = this.entries.get(key);
+
+            /* The profile could've been loaded from the cache file after
+             * it was requested */
+            if (entry != null && System.currentTimeMillis() - entry.time < TTL)
+            {
+                this.pending.remove(key);
+
+                return entry.profile;
+            }
+        }
+
+        try
+        {
+            profile = resolver.resolve(username);
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to resolve profile of '" + username + "'!");
+        }
+
+        synchronized (this)
+        {
+            this.pending.remove(key);
+            file = this.file;
+
+            if (profile != null)
+            {
+                this.entries.put(key, new Entry(profile, System.currentTimeMillis()));
+                this.failures.remove(key);
+
+                if (profile.getProperties().containsKey("textures"))
+                {
+                    snapshot = new HashMap<String, Entry>(this.entries);
+                }
+            }
+            else
+            {
+                this.failures.put(key, System.currentTimeMillis());
+            }
+        }
+
+        if (snapshot != null)
+        {
+            this.save(file, snapshot);
+        }
+
+        return profile;
+    }
+
+    private ExecutorService getExecutor()
+    {
+        if (this.executor == null)
+        {
+            this.executor = Executors.newSingleThreadExecutor((runnable) ->
+            {
+                Thread thread = new Thread(runnable, "Metamorph profile resolver");
+
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+
+        return this.executor;
+    }
+
+    /**
+     * Load profiles from given cache file (on the background thread).
+     * Profiles which were resolved in the meantime are kept.
+     */
+    private void load(File file)
+    {
+        if (file == null || !file.exists())
+        {
+            return;
+        }
+
+        Map<String, Entry> entries = new HashMap<String, Entry>();
+
+        try
+        {
+            JsonObject object = new JsonParser().parse(FileUtils.readFileToString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+
+            for (Map.Entry<String, JsonElement> element : object.entrySet())
+            {
+                JsonObject entry = element.getValue().getAsJsonObject();
+                GameProfile profile = new GameProfile(UUID.fromString(entry.get("id").getAsString()), entry.get("name").getAsString());
+
+                for (JsonElement property : entry.get("properties").getAsJsonArray())
+                {
+                    JsonObject prop = property.getAsJsonObject();
+                    String name = prop.get("name").getAsString();
+                    String value = prop.get("value").getAsString();
+
+                    if (prop.has("signature"))
+                    {
+                        profile.getProperties().put(name, new Property(name, value, prop.get("signature").getAsString()));
+                    }
+                    else
+                    {
+                        profile.getProperties().put(name, new Property(name, value));
+                    }
+                }
+
+                entries.put(element.getKey(), new Entry(profile, entry.get("time").getAsLong()));
+            }
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to load player profile cache!");
+            e.printStackTrace();
+        }
+
+        synchronized (this)
+        {
+            if (this.file == file)
+            {
+                for (Map.Entry<String, Entry> entry : entries.entrySet())
+                {
+                    this.entries.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Save given copy of profiles which have textures to given cache file.
+     * It's written to a temporary file first, so a crash wouldn't leave a
+     * broken cache.
+     */
+    private void save(File file, Map<String, Entry> entries)
+    {
+        if (file == null)
+        {
+            return;
+        }
+
+        JsonObject object = new JsonObject();
+
+        for (Map.Entry<String, Entry> element : entries.entrySet())
+        {
+            GameProfile profile = element.getValue().profile;
+
+            if (profile.getId() == null || !profile.getProperties().containsKey("textures"))
+            {
+                continue;
+            }
+
+            JsonObject entry = new JsonObject();
+            JsonArray properties = new JsonArray();
+
+            for (Property property : profile.getProperties().values())
+            {
+                JsonObject prop = new JsonObject();
+
+                prop.addProperty("name", property.getName());
+                prop.addProperty("value", property.getValue());
+
+                if (property.hasSignature())
+                {
+                    prop.addProperty("signature", property.getSignature());
+                }
+
+                properties.add(prop);
+            }
+
+            entry.addProperty("id", profile.getId().toString());
+            entry.addProperty("name", profile.getName());
+            entry.addProperty("time", element.getValue().time);
+            entry.add("properties", properties);
+            object.add(element.getKey(), entry);
+        }
+
+        try
+        {
+            File temp = new File(file.getPath() + ".tmp");
+
+            file.getParentFile().mkdirs();
+            FileUtils.writeStringToFile(temp, new GsonBuilder().setPrettyPrinting().create().toJson(object), StandardCharsets.UTF_8);
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (Exception e)
+        {
+            Metamorph.log("Failed to save player profile cache!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Cache entry
+     */
+    private static class Entry
+    {
+        public final GameProfile profile;
+        public final long time;
+
+        public Entry(GameProfile profile, long time)
+        {
+            this.profile = profile;
+            this.time = time;
+        }
+    }
+}